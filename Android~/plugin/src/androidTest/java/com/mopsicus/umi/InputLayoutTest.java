@@ -0,0 +1,98 @@
+package com.mopsicus.umi;
+
+import static org.junit.Assert.assertEquals;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+import android.widget.RelativeLayout.LayoutParams;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class InputLayoutTest {
+
+    /**
+     * Frames of animated move
+     */
+    private static final int FRAMES = 60;
+
+    /**
+     * Layout size
+     */
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    /**
+     * Layout with one child of fixed size
+     */
+    private InputLayout layout;
+    private View child;
+
+    /**
+     * Create layout and child, lay them out once
+     */
+    private void prepare() {
+        layout = new InputLayout(InstrumentationRegistry.getTargetContext());
+        child = new View(layout.getContext());
+        LayoutParams params = new LayoutParams(300, 100);
+        params.setMargins(0, 0, 0, 0);
+        layout.addView(child, params);
+        frame();
+    }
+
+    /**
+     * Run layout pass like Choreographer does, only if it was requested
+     */
+    private void frame() {
+        if (!layout.isLayoutRequested()) {
+            return;
+        }
+        layout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY), View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        layout.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Move by margins: each frame of animated move is layout pass
+     */
+    @Test
+    public void moveByParamsLaysOutEachFrame() {
+        int[] passes = new int[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            prepare();
+            int before = layout.getLayoutCount();
+            for (int i = 1; i <= FRAMES; i++) {
+                LayoutParams params = (LayoutParams) child.getLayoutParams();
+                params.setMargins(i * 10, i * 20, 0, 0);
+                child.setLayoutParams(params);
+                frame();
+            }
+            passes[0] = layout.getLayoutCount() - before;
+        });
+        assertEquals(FRAMES, passes[0]);
+    }
+
+    /**
+     * Move by translation, as SetRect does when size is the same: no layout passes
+     */
+    @Test
+    public void moveByTranslationSkipsLayout() {
+        int[] passes = new int[1];
+        float[] x = new float[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            prepare();
+            int before = layout.getLayoutCount();
+            for (int i = 1; i <= FRAMES; i++) {
+                child.setTranslationX(i * 10);
+                child.setTranslationY(i * 20);
+                frame();
+            }
+            passes[0] = layout.getLayoutCount() - before;
+            x[0] = child.getX();
+        });
+        assertEquals(0, passes[0]);
+        assertEquals(FRAMES * 10, x[0], 0);
+    }
+
+}
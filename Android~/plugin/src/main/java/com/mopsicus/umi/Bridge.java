@@ -1,13 +1,19 @@
 package com.mopsicus.umi;
 
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import android.view.Choreographer;
 
 import com.unity3d.player.UnityPlayer;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+
 public class Bridge {
 
     /**
@@ -25,6 +31,68 @@ public class Bridge {
      */
     boolean isDebug = false;
 
+    /**
+     * Protocol version for events, JSON by default
+     */
+    int protocol = Protocol.JSON;
+
+    /**
+     * Flag to collect events and send them once per frame
+     */
+    boolean isBatching = false;
+
+    /**
+     * Interval between batch flushes in ms, 0 to flush on each frame
+     */
+    int batchInterval = 0;
+
+    /**
+     * Reusable buffer for compact frames
+     */
+    private final StringBuilder frame = new StringBuilder(256);
+
+    /**
+     * Events waiting for flush
+     */
+    private ArrayList<Event> batch = new ArrayList<>();
+
+    /**
+     * Events in current flush, swapped with batch
+     */
+    private ArrayList<Event> flushing = new ArrayList<>();
+
+    /**
+     * Flag to prevent multiple flush requests
+     */
+    private boolean isFlushScheduled = false;
+
+    /**
+     * Handler for main thread
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Thread to encode and deliver events
+     */
+    private final EventSender sender;
+
+    /**
+     * Frame callback to flush batch
+     */
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> requestFlush();
+
+    /**
+     * Runnable to flush batch by interval
+     */
+    private final Runnable flushRunnable = this::requestFlush;
+
+    /**
+     * Constructor, starts sender thread
+     */
+    Bridge() {
+        sender = new EventSender(this);
+    }
+
     /**
      * Send data in JSON format to Unity
      *
@@ -43,6 +111,122 @@ public class Bridge {
         UnityPlayer.UnitySendMessage(object, receiver, info.toString());
     }
 
+    /**
+     * Send event to Unity in negotiated format
+     * In batch mode urgent event flushes batch at once on sender thread, events before it keep their order
+     *
+     * @param event Event to send
+     */
+    public void send(Event event) {
+        if (!isBatching) {
+            sender.send(event);
+            return;
+        }
+        boolean isUrgent = Protocol.isUrgent(event.opcode);
+        synchronized (this) {
+            if (Protocol.isCoalescable(event.opcode)) {
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    Event queued = batch.get(i);
+                    if (queued.id != event.id) {
+                        continue;
+                    }
+                    if (queued.opcode == event.opcode) {
+                        batch.remove(i).recycle();
+                    }
+                    break;
+                }
+            }
+            batch.add(event);
+            if (!isUrgent) {
+                if (isFlushScheduled) {
+                    return;
+                }
+                isFlushScheduled = true;
+            }
+        }
+        if (isUrgent) {
+            sender.requestFlush();
+        } else if (batchInterval > 0) {
+            handler.postDelayed(flushRunnable, batchInterval);
+        } else if (Looper.myLooper() == Looper.getMainLooper()) {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            handler.post(() -> Choreographer.getInstance().postFrameCallback(frameCallback));
+        }
+    }
+
+    /**
+     * Encode and send event to Unity, called on sender thread
+     *
+     * @param event Event to send
+     */
+    void deliver(Event event) {
+        String data = encode(event);
+        event.recycle();
+        UnityPlayer.UnitySendMessage(object, receiver, data);
+    }
+
+    /**
+     * Move batch flush to sender thread
+     */
+    void requestFlush() {
+        sender.requestFlush();
+    }
+
+    /**
+     * Deliver queued events and stop sender thread
+     */
+    void finish() {
+        sender.finish();
+    }
+
+    /**
+     * Stop sender thread
+     */
+    void stop() {
+        sender.stop();
+    }
+
+    /**
+     * Get count of events waiting for sender thread
+     *
+     * @return Queue depth
+     */
+    int getQueueDepth() {
+        return sender.getDepth();
+    }
+
+    /**
+     * Get count of state events dropped because sender queue was full
+     *
+     * @return Dropped events
+     */
+    int getDroppedCount() {
+        return sender.getDropped();
+    }
+
+    /**
+     * Send all collected events as one message, called on sender thread
+     */
+    void flush() {
+        ArrayList<Event> events;
+        synchronized (this) {
+            isFlushScheduled = false;
+            if (batch.isEmpty()) {
+                return;
+            }
+            events = batch;
+            batch = flushing;
+            flushing = events;
+        }
+        String data = (events.size() == 1) ? encode(events.get(0)) : encodeBatch(events);
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).recycle();
+        }
+        events.clear();
+        UnityPlayer.UnitySendMessage(object, receiver, data);
+    }
+
     /**
      * Send error code without data
      *
@@ -54,24 +238,158 @@ public class Bridge {
     }
 
     /**
-     * Send error in JSON format to Unity
+     * Send error to Unity
      *
      * @param code   Error code
      * @param data   Error data
      */
     public void sendError(String code, String data) {
-        JSONObject error = new JSONObject();
+        send(Event.obtain(Protocol.ERROR, Protocol.GLOBAL).put("code", code).put("message", data));
+    }
+
+    /**
+     * Encode event to string
+     *
+     * @param event Event to encode
+     * @return Encoded data
+     */
+    String encode(Event event) {
+        if (protocol == Protocol.JSON) {
+            return encodeJson(event);
+        }
+        synchronized (frame) {
+            frame.setLength(0);
+            encodeCompact(event, frame);
+            return frame.toString();
+        }
+    }
+
+    /**
+     * Encode event to JSON, wrapped like legacy sendData
+     *
+     * @param event Event to encode
+     * @return JSON string
+     */
+    private String encodeJson(Event event) {
+        return wrapJson(event).toString();
+    }
+
+    /**
+     * Encode list of events to one message
+     * JSON mode: {"batch":[...]}, compact mode: frames one by one
+     *
+     * @param events Events to encode
+     * @return Encoded data
+     */
+    private String encodeBatch(ArrayList<Event> events) {
+        if (protocol == Protocol.JSON) {
+            JSONArray list = new JSONArray();
+            for (int i = 0; i < events.size(); i++) {
+                list.put(wrapJson(events.get(i)));
+            }
+            JSONObject info = new JSONObject();
+            try {
+                info.put("batch", list);
+            } catch (JSONException e) {
+                if (isDebug) {
+                    Log.e("[UMI]", String.format("encode batch error: %s", e));
+                }
+            }
+            return info.toString();
+        }
+        synchronized (frame) {
+            frame.setLength(0);
+            for (int i = 0; i < events.size(); i++) {
+                encodeCompact(events.get(i), frame);
+            }
+            return frame.toString();
+        }
+    }
+
+    /**
+     * Wrap event to JSON object like legacy sendData
+     *
+     * @param event Event to wrap
+     * @return JSON object with data or error
+     */
+    private JSONObject wrapJson(Event event) {
+        JSONObject json = new JSONObject();
         JSONObject info = new JSONObject();
         try {
-            error.put("code", code);
-            error.put("message", data);
-            info.put("error", error);
+            for (int i = 0; i < event.size; i++) {
+                switch (event.types[i]) {
+                    case Event.TYPE_INT:
+                        json.put(event.keys[i], event.numbers[i]);
+                        break;
+                    case Event.TYPE_BOOL:
+                        json.put(event.keys[i], event.numbers[i] != 0);
+                        break;
+                    default:
+                        json.put(event.keys[i], event.strings[i]);
+                        break;
+                }
+            }
+            if (event.opcode == Protocol.ERROR) {
+                info.put("error", json);
+                return info;
+            }
+            if (Protocol.isAction(event.opcode)) {
+                json.put("action", Protocol.name(event.opcode));
+            } else {
+                json.put("msg", Protocol.name(event.opcode));
+                json.put("id", event.id);
+            }
+            info.put("data", json.toString());
         } catch (JSONException e) {
             if (isDebug) {
-                Log.e("[UMI]", String.format("send error error: %s", e));
+                Log.e("[UMI]", String.format("encode json error: %s", e));
             }
         }
-        UnityPlayer.UnitySendMessage(object, receiver, info.toString());
+        return info;
+    }
+
+    /**
+     * Encode event to compact frame
+     *
+     * @param event Event to encode
+     * @param out   Buffer to append frame
+     */
+    static void encodeCompact(Event event, StringBuilder out) {
+        out.append(Protocol.FRAME).append(Protocol.VERSION).append(Protocol.SEPARATOR);
+        out.append(event.opcode).append(Protocol.SEPARATOR);
+        out.append(event.id).append(Protocol.SEPARATOR);
+        out.append(event.size).append(Protocol.SEPARATOR);
+        for (int i = 0; i < event.size; i++) {
+            switch (event.types[i]) {
+                case Event.TYPE_INT:
+                    int value = event.numbers[i];
+                    out.append(Protocol.FIELD_INT).append(digits(value)).append(Protocol.LENGTH).append(value);
+                    break;
+                case Event.TYPE_BOOL:
+                    out.append(Protocol.FIELD_BOOL).append(1).append(Protocol.LENGTH).append(event.numbers[i] != 0 ? '1' : '0');
+                    break;
+                default:
+                    String text = event.strings[i];
+                    out.append(Protocol.FIELD_STRING).append(text.length()).append(Protocol.LENGTH).append(text);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Count chars of int in decimal form
+     *
+     * @param value Value to check
+     * @return Chars count with sign
+     */
+    private static int digits(int value) {
+        int count = (value < 0) ? 2 : 1;
+        long rest = Math.abs((long) value);
+        while (rest >= 10) {
+            rest /= 10;
+            count++;
+        }
+        return count;
     }
 
     /**
@@ -80,11 +398,17 @@ public class Bridge {
      * @param object Object to send data
      * @param receiver Method name
      * @param isDebug On/off debug log
+     * @param protocol Protocol version requested by Unity
+     * @param isBatching Collect events and send them once per frame
+     * @param batchInterval Interval between flushes in ms, 0 for each frame
      */
-    public void initialize(String object, String receiver, boolean isDebug) {
+    public void initialize(String object, String receiver, boolean isDebug, int protocol, boolean isBatching, int batchInterval) {
         this.object = object;
         this.receiver = receiver;
         this.isDebug = isDebug;
+        this.protocol = Protocol.negotiate(protocol);
+        this.isBatching = isBatching;
+        this.batchInterval = Math.max(batchInterval, 0);
     }
 
 }
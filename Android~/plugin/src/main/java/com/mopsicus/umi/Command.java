@@ -0,0 +1,247 @@
+package com.mopsicus.umi;
+
+import android.text.InputFilter;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class Command {
+
+    /**
+     * Command types
+     */
+    static final int UNKNOWN = 0;
+    static final int CREATE = 1;
+    static final int REMOVE = 2;
+    static final int SET_TEXT = 3;
+    static final int SET_CONTENT_TYPE = 4;
+    static final int SET_TEXT_COLOR = 5;
+    static final int SET_PTEXT_COLOR = 6;
+    static final int SET_BG_COLOR = 7;
+    static final int SET_READ_ONLY = 8;
+    static final int SET_CARET = 9;
+    static final int SET_RECT = 10;
+    static final int SET_FOCUS = 11;
+    static final int SET_VISIBLE = 12;
+    static final int SET_LANGUAGE = 13;
+    static final int ANDROID_KEY_DOWN = 14;
+    static final int SYNC_TEXT = 15;
+    static final int SET_FILTERS = 16;
+    static final int EDIT_RANGE = 17;
+    static final int APPLY_STYLE = 18;
+
+    /**
+     * Command type
+     */
+    final int type;
+
+    /**
+     * Property key for command queue
+     */
+    final int property;
+
+    /**
+     * Text, content type, language or key name
+     */
+    final String text;
+
+    /**
+     * Packed ARGB color
+     */
+    final int color;
+
+    /**
+     * Read only, focus or visible flag
+     */
+    final boolean flag;
+
+    /**
+     * Caret position or range to edit, Integer.MAX_VALUE for end of text
+     */
+    final int start;
+    final int end;
+
+    /**
+     * Text version after change made by Unity, 0 if unknown
+     */
+    final int version;
+
+    /**
+     * Normalized rect
+     */
+    final float x;
+    final float y;
+    final float width;
+    final float height;
+
+    /**
+     * Filters chain, null if config has errors
+     */
+    final InputFilter[] filters;
+
+    /**
+     * Config to create input
+     */
+    final InputConfig config;
+
+    /**
+     * Registered style to apply
+     */
+    final InputStyle style;
+
+    /**
+     * Constructor
+     *
+     * @param type     Command type
+     * @param property Property key for command queue
+     * @param text     Text value
+     * @param color    Color value
+     * @param flag     Flag value
+     * @param start    Position or range start
+     * @param end      Range end
+     * @param version  Text version
+     * @param x        Normalized x
+     * @param y        Normalized y
+     * @param width    Normalized width
+     * @param height   Normalized height
+     * @param filters  Filters chain
+     * @param config   Config to create input
+     * @param style    Style to apply
+     */
+    private Command(int type, int property, String text, int color, boolean flag, int start, int end, int version, float x, float y, float width, float height, InputFilter[] filters, InputConfig config, InputStyle style) {
+        this.type = type;
+        this.property = property;
+        this.text = text;
+        this.color = color;
+        this.flag = flag;
+        this.start = start;
+        this.end = end;
+        this.version = version;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.filters = filters;
+        this.config = config;
+        this.style = style;
+    }
+
+    /**
+     * Decode command from JSON, safe to call from any thread
+     *
+     * @param data Parsed data
+     * @return Typed command
+     * @throws JSONException If required value is missing
+     */
+    static Command parse(JSONObject data) throws JSONException {
+        String msg = data.getString("msg");
+        switch (msg) {
+            case "CREATE_EDIT":
+                return new Command(CREATE, CommandQueue.ORDERED, null, 0, false, 0, 0, 0, 0, 0, 0, 0, null, new InputConfig(data), null);
+            case "APPLY_STYLE":
+                return new Command(APPLY_STYLE, CommandQueue.ORDERED, null, 0, false, 0, 0, 0, 0, 0, 0, 0, null, null, InputStyle.resolve(data));
+            case "REMOVE_EDIT":
+                return simple(REMOVE);
+            case "SET_TEXT":
+                return new Command(SET_TEXT, CommandQueue.ORDERED, data.getString("text"), 0, false, 0, 0, data.optInt("version", 0), 0, 0, 0, 0, null, null, null);
+            case "SET_CONTENT_TYPE":
+                return text(SET_CONTENT_TYPE, data.getString("type"));
+            case "SET_TEXT_COLOR":
+                return color(SET_TEXT_COLOR, CommandQueue.TEXT_COLOR, data);
+            case "SET_PTEXT_COLOR":
+                return color(SET_PTEXT_COLOR, CommandQueue.PLACEHOLDER_COLOR, data);
+            case "SET_BG_COLOR":
+                return color(SET_BG_COLOR, CommandQueue.BACKGROUND_COLOR, data);
+            case "SET_READ_ONLY":
+                return flag(SET_READ_ONLY, CommandQueue.READ_ONLY, data.getBoolean("value"));
+            case "SET_CARET":
+                int position = data.getInt("value");
+                return new Command(SET_CARET, CommandQueue.CARET, null, 0, false, position, position, 0, 0, 0, 0, 0, null, null, null);
+            case "SET_RECT":
+                return new Command(SET_RECT, CommandQueue.RECT, null, 0, false, 0, 0, 0, (float) data.getDouble("x"), (float) data.getDouble("y"), (float) data.getDouble("width"), (float) data.getDouble("height"), null, null, null);
+            case "SET_FOCUS":
+                return flag(SET_FOCUS, CommandQueue.ORDERED, data.getBoolean("is_focus"));
+            case "SET_VISIBLE":
+                return flag(SET_VISIBLE, CommandQueue.VISIBLE, data.getBoolean("is_visible"));
+            case "SET_LANGUAGE":
+                return text(SET_LANGUAGE, data.getString("value"));
+            case "ANDROID_KEY_DOWN":
+                return text(ANDROID_KEY_DOWN, data.getString("key"));
+            case "SYNC_TEXT":
+                return simple(SYNC_TEXT);
+            case "SET_FILTERS":
+                return new Command(SET_FILTERS, CommandQueue.ORDERED, null, 0, false, 0, 0, 0, 0, 0, 0, 0, InputConfig.createFilters(data.optJSONObject("filters"), 0), null, null);
+            case "APPEND_TEXT":
+                return range(Integer.MAX_VALUE, Integer.MAX_VALUE, data.getString("text"), data);
+            case "INSERT_TEXT":
+                int at = data.getInt("at");
+                return range(at, at, data.getString("text"), data);
+            case "REPLACE_RANGE":
+                return range(data.getInt("start"), data.getInt("end"), data.getString("text"), data);
+            case "DELETE_RANGE":
+                return range(data.getInt("start"), data.getInt("end"), "", data);
+            default:
+                return simple(UNKNOWN);
+        }
+    }
+
+    /**
+     * Command without values
+     *
+     * @param type Command type
+     * @return Command
+     */
+    private static Command simple(int type) {
+        return new Command(type, CommandQueue.ORDERED, null, 0, false, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    /**
+     * Command with text value
+     *
+     * @param type Command type
+     * @param text Text value
+     * @return Command
+     */
+    private static Command text(int type, String text) {
+        return new Command(type, CommandQueue.ORDERED, text, 0, false, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    /**
+     * Command with flag value
+     *
+     * @param type     Command type
+     * @param property Property key for command queue
+     * @param flag     Flag value
+     * @return Command
+     */
+    private static Command flag(int type, int property, boolean flag) {
+        return new Command(type, property, null, 0, flag, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    /**
+     * Command with color value
+     *
+     * @param type     Command type
+     * @param property Property key for command queue
+     * @param data     JSON with color channels
+     * @return Command
+     * @throws JSONException If channel is missing
+     */
+    private static Command color(int type, int property, JSONObject data) throws JSONException {
+        return new Command(type, property, null, InputConfig.getColor(data, "color"), false, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    /**
+     * Command to replace range of text
+     *
+     * @param start Range start
+     * @param end   Range end
+     * @param text  Text to insert
+     * @param data  JSON with text version
+     * @return Command
+     */
+    private static Command range(int start, int end, String text, JSONObject data) {
+        return new Command(EDIT_RANGE, CommandQueue.ORDERED, text, 0, false, start, end, data.optInt("version", 0), 0, 0, 0, 0, null, null, null);
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.mopsicus.umi;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CommandQueue {
+
+    /**
+     * Property keys, latest command per input and property wins
+     * ORDERED commands have side effects and always run in order
+     */
+    static final int ORDERED = 0;
+    static final int RECT = 1;
+    static final int VISIBLE = 2;
+    static final int TEXT_COLOR = 3;
+    static final int PLACEHOLDER_COLOR = 4;
+    static final int BACKGROUND_COLOR = 5;
+    static final int CARET = 6;
+    static final int READ_ONLY = 7;
+    static final int GROUP_OFFSET = 8;
+
+    /**
+     * Queued command
+     */
+    private static class Command {
+
+        /**
+         * Input and property key, or 0 for ordered
+         */
+        final long key;
+
+        /**
+         * Count of ordered commands before this one
+         */
+        final long epoch;
+
+        /**
+         * Action to run on UI thread
+         */
+        final Runnable action;
+
+        /**
+         * Constructor
+         *
+         * @param key    Command key
+         * @param epoch  Ordered commands count
+         * @param action Action to run
+         */
+        Command(long key, long epoch, Runnable action) {
+            this.key = key;
+            this.epoch = epoch;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Commands from any thread, drained on UI thread
+     */
+    private final ConcurrentLinkedQueue<Command> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Latest command for each input and property
+     */
+    private final ConcurrentHashMap<Long, Command> latest = new ConcurrentHashMap<>();
+
+    /**
+     * Ordered commands counter, property commands are not merged across them
+     */
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * Flag to prevent multiple drain requests
+     */
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+
+    /**
+     * Handler for main thread
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Frame callback to drain queue
+     */
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> drain();
+
+    /**
+     * Runnable to wait next frame on UI thread
+     */
+    private final Runnable scheduleRunnable = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
+
+    /**
+     * Add command with side effects, runs in order
+     *
+     * @param action Action to run on UI thread
+     */
+    void post(Runnable action) {
+        synchronized (latest) {
+            queue.offer(new Command(ORDERED, epoch.incrementAndGet(), action));
+        }
+        schedule();
+    }
+
+    /**
+     * Add command, previous not executed command for same input and property will be skipped
+     *
+     * @param id       Input id
+     * @param property Property key, ORDERED for command with side effects
+     * @param action   Action to run on UI thread
+     */
+    void post(int id, int property, Runnable action) {
+        if (property == ORDERED) {
+            post(action);
+            return;
+        }
+        long key = ((long) id << 8) | property;
+        synchronized (latest) {
+            Command command = new Command(key, epoch.get(), action);
+            latest.put(key, command);
+            queue.offer(command);
+        }
+        schedule();
+    }
+
+    /**
+     * Request drain on next frame
+     * Commands are added under latest lock, so queue order is the same as latest order
+     */
+    private void schedule() {
+        if (isScheduled.compareAndSet(false, true)) {
+            handler.post(scheduleRunnable);
+        }
+    }
+
+    /**
+     * Drop not executed commands
+     */
+    void clear() {
+        synchronized (latest) {
+            queue.clear();
+            latest.clear();
+        }
+    }
+
+    /**
+     * Run all commands, skip superseded
+     */
+    void drain() {
+        isScheduled.set(false);
+        Command command;
+        while ((command = queue.poll()) != null) {
+            if (command.key != ORDERED) {
+                Command last = latest.get(command.key);
+                if (last != command && last != null && last.epoch == command.epoch) {
+                    continue;
+                }
+                latest.remove(command.key, command);
+            }
+            try {
+                command.action.run();
+            } catch (Exception e) {
+                if (Plugin.bridge.isDebug) {
+                    Log.e("[UMI]", String.format("command error: %s", e));
+                }
+                Plugin.bridge.sendError("COMMAND_ERROR", e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.mopsicus.umi;
+
+public class Event {
+
+    /**
+     * Field value types
+     */
+    static final int TYPE_STRING = 0;
+    static final int TYPE_INT = 1;
+    static final int TYPE_BOOL = 2;
+
+    /**
+     * Max fields count in one event
+     */
+    private static final int MAX_FIELDS = 12;
+
+    /**
+     * Max count of recycled events kept for reuse
+     */
+    private static final int POOL_SIZE = 16;
+
+    /**
+     * Recycled events
+     */
+    private static final Event[] pool = new Event[POOL_SIZE];
+
+    /**
+     * Count of recycled events in pool
+     */
+    private static int poolSize = 0;
+
+    /**
+     * Event opcode, see Protocol
+     */
+    int opcode;
+
+    /**
+     * Input id, or -1 for global events
+     */
+    int id;
+
+    /**
+     * Send order, set by sender
+     */
+    long sequence;
+
+    /**
+     * Flag for state event with control event of same input after it, it must not be replaced, set by sender
+     */
+    boolean isSealed;
+
+    /**
+     * Fields count
+     */
+    int size;
+
+    /**
+     * Field keys, used by JSON encoding
+     */
+    final String[] keys = new String[MAX_FIELDS];
+
+    /**
+     * Field types
+     */
+    final int[] types = new int[MAX_FIELDS];
+
+    /**
+     * Int and bool field values
+     */
+    final int[] numbers = new int[MAX_FIELDS];
+
+    /**
+     * String field values
+     */
+    final String[] strings = new String[MAX_FIELDS];
+
+    /**
+     * Constructor
+     *
+     * @param opcode Event opcode
+     * @param id     Input id
+     */
+    private Event(int opcode, int id) {
+        this.opcode = opcode;
+        this.id = id;
+    }
+
+    /**
+     * Get event from pool or create new one
+     * Event is owned by Bridge after send and must not be used
+     *
+     * @param opcode Event opcode
+     * @param id     Input id
+     * @return Empty event
+     */
+    static Event obtain(int opcode, int id) {
+        synchronized (pool) {
+            if (poolSize > 0) {
+                Event event = pool[--poolSize];
+                pool[poolSize] = null;
+                event.opcode = opcode;
+                event.id = id;
+                event.isSealed = false;
+                return event;
+            }
+        }
+        return new Event(opcode, id);
+    }
+
+    /**
+     * Clear event and return it to pool
+     */
+    void recycle() {
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+            strings[i] = null;
+        }
+        size = 0;
+        synchronized (pool) {
+            if (poolSize < POOL_SIZE) {
+                pool[poolSize++] = this;
+            }
+        }
+    }
+
+    /**
+     * Add string field
+     *
+     * @param key   Field key
+     * @param value Field value
+     * @return Current event
+     */
+    Event put(String key, String value) {
+        int index = next(key, TYPE_STRING);
+        strings[index] = (value == null) ? "" : value;
+        return this;
+    }
+
+    /**
+     * Add int field
+     *
+     * @param key   Field key
+     * @param value Field value
+     * @return Current event
+     */
+    Event put(String key, int value) {
+        int index = next(key, TYPE_INT);
+        numbers[index] = value;
+        return this;
+    }
+
+    /**
+     * Add bool field
+     *
+     * @param key   Field key
+     * @param value Field value
+     * @return Current event
+     */
+    Event put(String key, boolean value) {
+        int index = next(key, TYPE_BOOL);
+        numbers[index] = value ? 1 : 0;
+        return this;
+    }
+
+    /**
+     * Reserve next field slot
+     *
+     * @param key  Field key
+     * @param type Field type
+     * @return Slot index
+     */
+    private int next(String key, int type) {
+        if (size == MAX_FIELDS) {
+            throw new IllegalStateException(String.format("too many fields in event %s", Protocol.name(opcode)));
+        }
+        int index = size++;
+        keys[index] = key;
+        types[index] = type;
+        strings[index] = null;
+        return index;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.mopsicus.umi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class EventQueue {
+
+    /**
+     * Mask to get slot from position, capacity is power of two
+     */
+    private final int mask;
+
+    /**
+     * Slots with events
+     */
+    private final AtomicReferenceArray<Event> items;
+
+    /**
+     * Slot sequences, show if slot is free for position or filled
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Next position to write
+     */
+    private final AtomicLong writePosition = new AtomicLong();
+
+    /**
+     * Next position to read
+     */
+    private final AtomicLong readPosition = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param capacity Min capacity, rounded up to power of two
+     */
+    EventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        mask = size - 1;
+        items = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add event without locks, safe to call from any thread
+     *
+     * @param event Event to add
+     * @return False if queue is full
+     */
+    boolean offer(Event event) {
+        long position = writePosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = writePosition.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = writePosition.get();
+            }
+        }
+        items.set(index, event);
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Take oldest event without locks
+     *
+     * @return Event or null if queue is empty
+     */
+    Event poll() {
+        long position = readPosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (readPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = readPosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = readPosition.get();
+            }
+        }
+        Event event = items.get(index);
+        items.set(index, null);
+        sequences.lazySet(index, position + mask + 1);
+        return event;
+    }
+
+    /**
+     * Get count of queued events
+     *
+     * @return Approximate count
+     */
+    int size() {
+        return (int) Math.max(writePosition.get() - readPosition.get(), 0);
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.mopsicus.umi;
+
+import android.os.Process;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class EventSender implements Runnable {
+
+    /**
+     * Count of control events in lock-free ring, next events go to overflow list while it is full
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * Count of state events after which transient ones are evicted, one per input and opcode
+     */
+    private static final int STATE_CAPACITY = 64;
+
+    /**
+     * Bridge to encode and deliver events
+     */
+    private final Bridge bridge;
+
+    /**
+     * Control events: ready, focus, return, end edit, deltas, errors, never coalesced or dropped
+     */
+    private final EventQueue controls = new EventQueue(CAPACITY);
+
+    /**
+     * Control events after ring was full, delivered after ring, guarded by states
+     */
+    private final ArrayDeque<Event> overflow = new ArrayDeque<>();
+
+    /**
+     * State events: text, keyboard, orientation, metrics, latest value wins, guarded by itself
+     */
+    private final ArrayList<Event> states = new ArrayList<>(STATE_CAPACITY);
+
+    /**
+     * Send order counter
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Count of state events evicted because lane was full
+     */
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    /**
+     * Flag to flush batch on sender thread
+     */
+    private volatile boolean isFlushRequested = false;
+
+    /**
+     * Sender thread
+     */
+    private final Thread thread;
+
+    /**
+     * Flag to stop sender thread
+     */
+    private volatile boolean isRunning = true;
+
+    /**
+     * Flag to stop sender thread when queued events are delivered
+     */
+    private volatile boolean isStopRequested = false;
+
+    /**
+     * Constructor, starts sender thread
+     *
+     * @param bridge Bridge to deliver events
+     */
+    EventSender(Bridge bridge) {
+        this.bridge = bridge;
+        thread = new Thread(this, "UMI-Sender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Add event to its lane, UI thread cost is only enqueue
+     * Control events go first, state events of same input sent before are delivered ahead of them
+     *
+     * @param event Event to send
+     */
+    void send(Event event) {
+        if (Protocol.isCoalescable(event.opcode)) {
+            offerState(event);
+        } else {
+            offerControl(event);
+        }
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Put control event, seal queued state events of same input so they keep their place before it
+     * Producer never waits: if ring is full or overflow is not empty, event goes to overflow, control events are never dropped
+     *
+     * @param event Control event
+     */
+    private void offerControl(Event event) {
+        synchronized (states) {
+            event.sequence = sequence.incrementAndGet();
+            for (int i = 0; i < states.size(); i++) {
+                Event queued = states.get(i);
+                if (queued.id == event.id) {
+                    queued.isSealed = true;
+                }
+            }
+            if (overflow.isEmpty() && controls.offer(event)) {
+                return;
+            }
+            overflow.add(event);
+        }
+    }
+
+    /**
+     * Take oldest control event, ring first, then overflow
+     * Nothing goes to ring while overflow is not empty, so order is kept
+     *
+     * @return Event or null if lane is empty
+     */
+    private Event pollControl() {
+        Event event = controls.poll();
+        if (event != null) {
+            return event;
+        }
+        synchronized (states) {
+            return overflow.poll();
+        }
+    }
+
+    /**
+     * Put state event, replace not sent event of same input and opcode if no control event follows it
+     *
+     * @param event State event
+     */
+    private void offerState(Event event) {
+        Event replaced = null;
+        Event evicted = null;
+        synchronized (states) {
+            event.sequence = sequence.incrementAndGet();
+            for (int i = states.size() - 1; i >= 0; i--) {
+                Event queued = states.get(i);
+                if (queued.id == event.id && queued.opcode == event.opcode) {
+                    if (!queued.isSealed) {
+                        replaced = states.remove(i);
+                    }
+                    break;
+                }
+            }
+            if (replaced == null && states.size() >= STATE_CAPACITY) {
+                evicted = evictState();
+            }
+            states.add(event);
+        }
+        if (replaced != null) {
+            replaced.recycle();
+        }
+        if (evicted != null) {
+            dropped.incrementAndGet();
+            evicted.recycle();
+        }
+    }
+
+    /**
+     * Remove oldest keyboard animation step, next step or final KEYBOARD event supersedes it
+     * Lane grows if there is no such event, so text and values before control events are never lost
+     *
+     * @return Evicted event or null, call under states lock
+     */
+    private Event evictState() {
+        for (int i = 0; i < states.size(); i++) {
+            if (states.get(i).opcode == Protocol.KEYBOARD_PROGRESS) {
+                return states.remove(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take oldest state event
+     *
+     * @return Event or null if lane is empty
+     */
+    private Event pollState() {
+        synchronized (states) {
+            return states.isEmpty() ? null : states.remove(0);
+        }
+    }
+
+    /**
+     * Take oldest state event of input sent before control event
+     *
+     * @param control Control event
+     * @return Event or null if there are no such events
+     */
+    private Event pollStateBefore(Event control) {
+        synchronized (states) {
+            for (int i = 0; i < states.size(); i++) {
+                Event queued = states.get(i);
+                if (queued.id == control.id && queued.sequence < control.sequence) {
+                    return states.remove(i);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Request batch flush on sender thread
+     */
+    void requestFlush() {
+        isFlushRequested = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Deliver queued events, flush batch and stop sender thread
+     */
+    void finish() {
+        isStopRequested = true;
+        requestFlush();
+    }
+
+    /**
+     * Stop sender thread, queued events are dropped
+     */
+    void stop() {
+        isRunning = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Get count of events waiting for delivery
+     *
+     * @return Depth of both lanes
+     */
+    int getDepth() {
+        synchronized (states) {
+            return controls.size() + overflow.size() + states.size();
+        }
+    }
+
+    /**
+     * Get count of state events evicted since start
+     *
+     * @return Dropped events
+     */
+    int getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Deliver events until stopped, control lane first
+     */
+    @Override
+    public void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+        while (isRunning) {
+            Event event = pollControl();
+            if (event != null) {
+                Event state;
+                while ((state = pollStateBefore(event)) != null) {
+                    bridge.deliver(state);
+                }
+                bridge.deliver(event);
+                continue;
+            }
+            event = pollState();
+            if (event != null) {
+                bridge.deliver(event);
+                continue;
+            }
+            if (isFlushRequested) {
+                isFlushRequested = false;
+                bridge.flush();
+                continue;
+            }
+            if (isStopRequested) {
+                isRunning = false;
+                break;
+            }
+            LockSupport.park(this);
+        }
+        Event event;
+        while ((event = pollControl()) != null) {
+            event.recycle();
+        }
+        while ((event = pollState()) != null) {
+            event.recycle();
+        }
+    }
+
+}
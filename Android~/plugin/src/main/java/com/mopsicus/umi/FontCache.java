@@ -0,0 +1,102 @@
+package com.mopsicus.umi;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FontCache {
+
+    /**
+     * Loaded typefaces by font name, shared by all inputs
+     */
+    private static final ConcurrentHashMap<String, Typeface> typefaces = new ConcurrentHashMap<>();
+
+    /**
+     * Background thread to load fonts
+     */
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "UMI-Fonts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Get typeface, loads it on first call
+     * Font name is a file path if it starts with "/", otherwise TTF file name in assets without extension
+     *
+     * @param context App context
+     * @param name    Font name or path
+     * @return Typeface, SANS_SERIF if font can't be loaded, failures are not cached and next call tries again
+     */
+    static Typeface get(Context context, String name) {
+        if (name == null || name.isEmpty() || name.equals("default")) {
+            return Typeface.SANS_SERIF;
+        }
+        Typeface typeface = typefaces.computeIfAbsent(name, key -> load(context, key));
+        return (typeface == null) ? Typeface.SANS_SERIF : typeface;
+    }
+
+    /**
+     * Load fonts on background thread, so first input with font does not read file on UI thread
+     *
+     * @param context App context
+     * @param names   Font names or paths
+     */
+    static void preload(Context context, String[] names) {
+        if (names.length == 0) {
+            return;
+        }
+        final Context appContext = context.getApplicationContext();
+        loader.execute(() -> {
+            for (String name : names) {
+                get(appContext, name);
+            }
+        });
+    }
+
+    /**
+     * Start loading font on background thread if it is not loaded yet, so caller thread never reads file
+     *
+     * @param context App context
+     * @param name    Font name or path
+     */
+    static void request(Context context, String name) {
+        if (name == null || name.isEmpty() || name.equals("default") || typefaces.containsKey(name)) {
+            return;
+        }
+        final Context appContext = context.getApplicationContext();
+        loader.execute(() -> get(appContext, name));
+    }
+
+    /**
+     * Read font from file or assets
+     *
+     * @param context App context
+     * @param name    Font name or path
+     * @return Typeface, null on error
+     */
+    private static Typeface load(Context context, String name) {
+        try {
+            if (name.startsWith("/")) {
+                return Typeface.createFromFile(new File(name));
+            }
+            String file = (name.endsWith(".ttf") || name.endsWith(".otf")) ? name : String.format("%s.ttf", name);
+            return Typeface.createFromAsset(context.getAssets(), file);
+        } catch (Exception e) {
+            if (Plugin.bridge.isDebug) {
+                Log.e("[UMI]", String.format("load font error: %s, %s", name, e));
+            }
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+package com.mopsicus.umi;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.InputFilter;
+import android.text.InputType;
+import android.text.Selection;
+import android.text.SpanWatcher;
+import android.text.Spannable;
+import android.text.Spanned;
+import android.text.TextWatcher;
+import android.view.KeyEvent;
+import android.view.View;
+import android.view.inputmethod.BaseInputConnection;
+import android.view.inputmethod.EditorInfo;
+import android.view.inputmethod.InputConnection;
+import android.view.inputmethod.InputMethodManager;
+
+public class HeadlessInput extends View {
+
+    /**
+     * Callback on IME action
+     */
+    interface ActionListener {
+        boolean onEditorAction(int actionId);
+    }
+
+    /**
+     * Text and selection, edited by IME directly
+     */
+    private final Editable text = Editable.Factory.getInstance().newEditable("");
+
+    /**
+     * Input type for IME
+     */
+    private int inputType = InputType.TYPE_CLASS_TEXT;
+
+    /**
+     * IME options for IME
+     */
+    private int imeOptions = EditorInfo.IME_NULL;
+
+    /**
+     * Read only flag, IME gets no connection and keys are not handled
+     */
+    private boolean isReadOnly = false;
+
+    /**
+     * Current selection listener
+     */
+    private InputEdit.SelectionListener selectionListener;
+
+    /**
+     * Current IME action listener
+     */
+    private ActionListener actionListener;
+
+    /**
+     * Nested batch edits count from IME
+     */
+    private int batchCount = 0;
+
+    /**
+     * Selection watcher, reports selection and keeps IME in sync
+     */
+    private final SpanWatcher selectionWatcher = new SpanWatcher() {
+        @Override
+        public void onSpanAdded(Spannable text, Object what, int start, int end) {
+            onSpanChanged(text, what, start, end, start, end);
+        }
+
+        @Override
+        public void onSpanRemoved(Spannable text, Object what, int start, int end) {
+            // Auto-generated method stub
+
+        }
+
+        @Override
+        public void onSpanChanged(Spannable text, Object what, int ostart, int oend, int nstart, int nend) {
+            if (what != Selection.SELECTION_START && what != Selection.SELECTION_END) {
+                return;
+            }
+            if (batchCount == 0) {
+                updateSelection();
+            }
+        }
+    };
+
+    /**
+     * Constructor
+     *
+     * @param context Context for view
+     */
+    public HeadlessInput(Context context) {
+        super(context);
+        setFocusable(true);
+        setFocusableInTouchMode(true);
+        setWillNotDraw(true);
+        text.setSpan(selectionWatcher, 0, 0, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+        Selection.setSelection(text, 0);
+    }
+
+    /**
+     * Get current text
+     *
+     * @return Editable text
+     */
+    Editable getText() {
+        return text;
+    }
+
+    /**
+     * Replace text, caret is moved to end and IME is restarted
+     *
+     * @param value New text
+     */
+    void setText(CharSequence value) {
+        text.replace(0, text.length(), value);
+        Selection.setSelection(text, text.length());
+        restartInput();
+    }
+
+    /**
+     * Set selection, clamped to text
+     *
+     * @param start Selection start
+     * @param end   Selection end
+     */
+    void setSelection(int start, int end) {
+        int length = text.length();
+        Selection.setSelection(text, Math.max(0, Math.min(start, length)), Math.max(0, Math.min(end, length)));
+    }
+
+    /**
+     * Get selection start
+     *
+     * @return Position
+     */
+    int getSelectionStart() {
+        return Selection.getSelectionStart(text);
+    }
+
+    /**
+     * Get selection end
+     *
+     * @return Position
+     */
+    int getSelectionEnd() {
+        return Selection.getSelectionEnd(text);
+    }
+
+    /**
+     * Set input type and restart IME
+     *
+     * @param type Input type
+     */
+    void setInputType(int type) {
+        inputType = type;
+        restartInput();
+    }
+
+    /**
+     * Get input type
+     *
+     * @return Input type
+     */
+    int getInputType() {
+        return inputType;
+    }
+
+    /**
+     * Set IME options
+     *
+     * @param options IME options
+     */
+    void setImeOptions(int options) {
+        imeOptions = options;
+    }
+
+    /**
+     * Set read only and restart IME, keyboard is hidden while read only
+     *
+     * @param value Read only flag
+     */
+    void setReadOnly(boolean value) {
+        if (isReadOnly == value) {
+            return;
+        }
+        isReadOnly = value;
+        restartInput();
+        InputMethodManager imm = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (imm != null && isFocused() && value) {
+            imm.hideSoftInputFromWindow(getWindowToken(), 0);
+        }
+    }
+
+    /**
+     * Set filters for text
+     *
+     * @param filters Filters chain
+     */
+    void setFilters(InputFilter[] filters) {
+        text.setFilters(filters);
+    }
+
+    /**
+     * Add text watcher as span, same way TextView does
+     *
+     * @param watcher Text watcher
+     */
+    void addTextChangedListener(TextWatcher watcher) {
+        text.setSpan(watcher, 0, text.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+    }
+
+    /**
+     * Set listener to selection changes
+     *
+     * @param listener Listener
+     */
+    void setSelectionListener(InputEdit.SelectionListener listener) {
+        selectionListener = listener;
+    }
+
+    /**
+     * Set listener to IME actions
+     *
+     * @param listener Listener
+     */
+    void setActionListener(ActionListener listener) {
+        actionListener = listener;
+    }
+
+    /**
+     * Report selection to listener and IME
+     */
+    private void updateSelection() {
+        int start = getSelectionStart();
+        int end = getSelectionEnd();
+        if (selectionListener != null) {
+            selectionListener.onSelectionChanged(start, end);
+        }
+        InputMethodManager imm = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (imm != null && isFocused()) {
+            imm.updateSelection(this, start, end, BaseInputConnection.getComposingSpanStart(text), BaseInputConnection.getComposingSpanEnd(text));
+        }
+    }
+
+    /**
+     * Restart IME connection after text or type is changed from Unity
+     */
+    private void restartInput() {
+        InputMethodManager imm = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (imm != null && isFocused()) {
+            imm.restartInput(this);
+        }
+    }
+
+    /**
+     * Check if IME action is handled
+     *
+     * @param actionId Action
+     * @return True if handled
+     */
+    private boolean performAction(int actionId) {
+        return actionListener != null && actionListener.onEditorAction(actionId);
+    }
+
+    /**
+     * View gets keyboard if not read only
+     *
+     * @return True if editable
+     */
+    @Override
+    public boolean onCheckIsTextEditor() {
+        return !isReadOnly;
+    }
+
+    /**
+     * Create connection to edit text
+     *
+     * @param outAttrs Editor attributes
+     * @return Connection or null if read only
+     */
+    @Override
+    public InputConnection onCreateInputConnection(EditorInfo outAttrs) {
+        if (isReadOnly) {
+            outAttrs.inputType = InputType.TYPE_NULL;
+            return null;
+        }
+        outAttrs.inputType = inputType;
+        outAttrs.imeOptions = imeOptions;
+        outAttrs.initialSelStart = getSelectionStart();
+        outAttrs.initialSelEnd = getSelectionEnd();
+        return new BaseInputConnection(this, true) {
+            @Override
+            public Editable getEditable() {
+                return text;
+            }
+
+            @Override
+            public boolean beginBatchEdit() {
+                batchCount++;
+                return true;
+            }
+
+            @Override
+            public boolean endBatchEdit() {
+                if (batchCount > 0 && --batchCount == 0) {
+                    updateSelection();
+                }
+                return batchCount > 0;
+            }
+
+            @Override
+            public boolean performEditorAction(int actionCode) {
+                return performAction(actionCode);
+            }
+        };
+    }
+
+    /**
+     * Handle hardware and forced keys, IME sends most text through connection
+     *
+     * @param keyCode Key code
+     * @param event   Key event
+     * @return True if handled
+     */
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        if (isReadOnly) {
+            return super.onKeyDown(keyCode, event);
+        }
+        int start = Math.max(0, Math.min(getSelectionStart(), getSelectionEnd()));
+        int end = Math.max(getSelectionStart(), getSelectionEnd());
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_DEL:
+                if (start != end) {
+                    text.delete(start, end);
+                } else if (start > 0) {
+                    text.delete(start - 1, start);
+                }
+                return true;
+            case KeyEvent.KEYCODE_FORWARD_DEL:
+                if (start != end) {
+                    text.delete(start, end);
+                } else if (start < text.length()) {
+                    text.delete(start, start + 1);
+                }
+                return true;
+            case KeyEvent.KEYCODE_ENTER:
+                if ((inputType & InputType.TYPE_TEXT_FLAG_MULTI_LINE) != 0) {
+                    text.replace(start, end, "\n");
+                    return true;
+                }
+                return performAction(imeOptions & EditorInfo.IME_MASK_ACTION);
+        }
+        int unicode = event.getUnicodeChar();
+        if (unicode > 0) {
+            text.replace(start, end, String.valueOf((char) unicode));
+            return true;
+        }
+        return super.onKeyDown(keyCode, event);
+    }
+
+}
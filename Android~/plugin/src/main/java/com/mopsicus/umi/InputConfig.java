@@ -0,0 +1,280 @@
+package com.mopsicus.umi;
+
+import android.graphics.Color;
+import android.text.InputFilter;
+import android.text.InputType;
+import android.view.Gravity;
+import android.view.inputmethod.EditorInfo;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class InputConfig {
+
+    /**
+     * Normalized rect
+     */
+    final float x;
+    final float y;
+    final float width;
+    final float height;
+
+    /**
+     * Placeholder text
+     */
+    final String placeholder;
+
+    /**
+     * Font size in pixels
+     */
+    final float fontSize;
+
+    /**
+     * Filters chain, null if config has errors
+     */
+    final InputFilter[] filters;
+
+    /**
+     * Colors, types and font, registered or own
+     */
+    final InputStyle style;
+
+    /**
+     * Keyboard language code
+     */
+    final String keyboardLanguage;
+
+    /**
+     * Flag to send text changes as deltas
+     */
+    final boolean isTextDelta;
+
+    /**
+     * Policy and interval to send TEXT_CHANGE
+     */
+    final int textChangeMode;
+    final int textChangeInterval;
+
+    /**
+     * Group name, empty if input is not in group
+     */
+    final String group;
+
+    /**
+     * Shared editor mode
+     */
+    final boolean isShared;
+
+    /**
+     * Headless mode
+     */
+    final boolean isHeadless;
+
+    /**
+     * Constructor, parses and resolves all values, safe to call from any thread
+     *
+     * @param data CREATE_EDIT data, style values are taken from registered style if style id is set
+     * @throws JSONException If required value is missing
+     */
+    InputConfig(JSONObject data) throws JSONException {
+        x = (float) data.getDouble("x");
+        y = (float) data.getDouble("y");
+        width = (float) data.getDouble("width");
+        height = (float) data.getDouble("height");
+        placeholder = data.getString("placeholder");
+        fontSize = (float) data.getDouble("font_size");
+        filters = createFilters(data.optJSONObject("filters"), data.getInt("character_limit"));
+        style = InputStyle.resolve(data);
+        keyboardLanguage = data.optString("keyboard_language");
+        isTextDelta = data.optBoolean("text_delta", false);
+        textChangeMode = MobileInput.getTextChangeMode(data.optString("text_change_mode"));
+        textChangeInterval = Math.max(data.optInt("text_change_interval", 0), 0);
+        group = data.optString("group");
+        isShared = data.optBoolean("shared", false);
+        isHeadless = data.optBoolean("headless", false);
+    }
+
+    /**
+     * Convert color from JSON channels
+     *
+     * @param data   JSON object
+     * @param prefix Color name, channels are prefix_r, prefix_g, prefix_b, prefix_a
+     * @return Packed color
+     * @throws JSONException If channel is missing
+     */
+    static int getColor(JSONObject data, String prefix) throws JSONException {
+        int r = (int) (255.0f * data.getDouble(prefix + "_r"));
+        int g = (int) (255.0f * data.getDouble(prefix + "_g"));
+        int b = (int) (255.0f * data.getDouble(prefix + "_b"));
+        int a = (int) (255.0f * data.getDouble(prefix + "_a"));
+        return Color.argb(a, r, g, b);
+    }
+
+    /**
+     * Create filters chain, error is sent to Unity
+     *
+     * @param config         Filters config
+     * @param characterLimit Max length if config has no own value
+     * @return Filters or null on error
+     */
+    static InputFilter[] createFilters(JSONObject config, int characterLimit) {
+        try {
+            return InputFilters.create(config, characterLimit);
+        } catch (RuntimeException e) {
+            Plugin.bridge.sendError("FILTER_ERROR", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Add content type flags to input type
+     *
+     * @param inputType Current input type
+     * @param value     Content type name
+     * @return New input type
+     */
+    static int getContentType(int inputType, String value) {
+        switch (value) {
+            case "Autocorrected":
+                return inputType | InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES | InputType.TYPE_TEXT_FLAG_AUTO_CORRECT;
+            case "IntegerNumber":
+                return inputType | InputType.TYPE_CLASS_NUMBER;
+            case "DecimalNumber":
+                return inputType | InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL;
+            case "Alphanumeric":
+                return inputType | InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES;
+            case "Name":
+                return inputType | InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PERSON_NAME;
+            case "EmailAddress":
+                return inputType | InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
+            case "Password":
+                return inputType | InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD;
+            case "Pin":
+                return inputType | InputType.TYPE_CLASS_PHONE;
+            default:
+                return InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS;
+        }
+    }
+
+    /**
+     * Resolve input type from content, keyboard and input types
+     *
+     * @param contentType  Content type name
+     * @param keyboardType Keyboard type name for custom content
+     * @param type         Input type name for custom content
+     * @param multiline    Multiline flag
+     * @return Input type
+     */
+    static int getInputType(String contentType, String keyboardType, String type, boolean multiline) {
+        int inputType = getContentType(0, contentType);
+        if (contentType.equals("Custom")) {
+            switch (keyboardType) {
+                case "ASCIICapable":
+                    inputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS;
+                    break;
+                case "NumbersAndPunctuation":
+                    inputType = InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL | InputType.TYPE_NUMBER_FLAG_SIGNED;
+                    break;
+                case "URL":
+                    inputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS | InputType.TYPE_TEXT_VARIATION_URI;
+                    break;
+                case "NumberPad":
+                    inputType = InputType.TYPE_CLASS_NUMBER;
+                    break;
+                case "PhonePad":
+                    inputType = InputType.TYPE_CLASS_PHONE;
+                    break;
+                case "NamePhonePad":
+                    inputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PERSON_NAME;
+                    break;
+                case "EmailAddress":
+                    inputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
+                    break;
+                case "Social":
+                    inputType = InputType.TYPE_TEXT_VARIATION_URI | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
+                    break;
+                case "Search":
+                    inputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS | InputType.TYPE_NUMBER_FLAG_DECIMAL | InputType.TYPE_NUMBER_FLAG_SIGNED;
+                    break;
+                default:
+                    inputType = InputType.TYPE_CLASS_TEXT;
+                    break;
+            }
+            switch (type) {
+                case "Standard":
+                    break;
+                case "AutoCorrect":
+                    inputType |= InputType.TYPE_TEXT_FLAG_AUTO_CORRECT;
+                    break;
+                case "Password":
+                    if (!keyboardType.equals("NumbersAndPunctuation") && !keyboardType.equals("NumberPad") && !keyboardType.equals("PhonePad")) {
+                        inputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD;
+                    } else {
+                        inputType |= InputType.TYPE_NUMBER_VARIATION_PASSWORD;
+                    }
+                    break;
+            }
+        }
+        if (multiline) {
+            inputType |= InputType.TYPE_TEXT_FLAG_MULTI_LINE | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES;
+        }
+        return inputType;
+    }
+
+    /**
+     * Resolve gravity from TMP alignment
+     *
+     * @param alignment Alignment name
+     * @return Gravity
+     */
+    static int getGravity(String alignment) {
+        switch (alignment) {
+            case "TopLeft":
+                return Gravity.TOP | Gravity.LEFT;
+            case "Top":
+                return Gravity.TOP | Gravity.CENTER_HORIZONTAL;
+            case "TopRight":
+                return Gravity.TOP | Gravity.RIGHT;
+            case "Left":
+                return Gravity.CENTER_VERTICAL | Gravity.LEFT;
+            case "Center":
+                return Gravity.CENTER_VERTICAL | Gravity.CENTER_HORIZONTAL;
+            case "Right":
+                return Gravity.CENTER_VERTICAL | Gravity.RIGHT;
+            case "BottomLeft":
+                return Gravity.BOTTOM | Gravity.LEFT;
+            case "Bottom":
+                return Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL;
+            case "BottomRight":
+                return Gravity.BOTTOM | Gravity.RIGHT;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Resolve IME options from return key type
+     *
+     * @param returnKeyType Return key name
+     * @return IME options
+     */
+    static int getImeOptions(String returnKeyType) {
+        int imeOptions = EditorInfo.IME_FLAG_NO_EXTRACT_UI;
+        switch (returnKeyType) {
+            case "Next":
+                imeOptions |= EditorInfo.IME_ACTION_NEXT;
+                break;
+            case "Done":
+                imeOptions |= EditorInfo.IME_ACTION_DONE;
+                break;
+            case "Search":
+                imeOptions |= EditorInfo.IME_ACTION_SEARCH;
+                break;
+            case "Send":
+                imeOptions |= EditorInfo.IME_ACTION_SEND;
+                break;
+        }
+        return imeOptions;
+    }
+
+}
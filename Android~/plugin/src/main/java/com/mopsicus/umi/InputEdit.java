@@ -0,0 +1,158 @@
+package com.mopsicus.umi;
+
+import android.content.Context;
+import android.text.InputFilter;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.EditText;
+
+import java.util.ArrayList;
+
+@SuppressWarnings("AppCompatCustomView")
+public class InputEdit extends EditText {
+
+    /**
+     * Callback on selection change
+     */
+    interface SelectionListener {
+        void onSelectionChanged(int start, int end);
+    }
+
+    /**
+     * Max count of detached inputs kept for reuse
+     */
+    private static final int POOL_SIZE = 8;
+
+    /**
+     * Detached inputs for reuse, UI thread only
+     */
+    private static final ArrayList<InputEdit> pool = new ArrayList<>(POOL_SIZE);
+
+    /**
+     * Current selection listener
+     */
+    private SelectionListener selectionListener;
+
+    /**
+     * Added text watchers, to remove them on recycle
+     */
+    private final ArrayList<TextWatcher> watchers = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param context Context for view
+     */
+    public InputEdit(Context context) {
+        super(context);
+    }
+
+    /**
+     * Get input from pool or create new one
+     *
+     * @param context Context for view
+     * @return Detached input
+     */
+    static InputEdit obtain(Context context) {
+        int size = pool.size();
+        if (size > 0) {
+            return pool.remove(size - 1);
+        }
+        return new InputEdit(context);
+    }
+
+    /**
+     * Create inputs in advance, so first input is shown without construction stall
+     *
+     * @param context Context for view
+     * @param count   Inputs count
+     */
+    static void prewarm(Context context, int count) {
+        int total = Math.min(count, POOL_SIZE);
+        while (pool.size() < total) {
+            pool.add(new InputEdit(context));
+        }
+    }
+
+    /**
+     * Reset detached input and return it to pool
+     * Caret color is not reset, it is set again on each focus
+     */
+    void recycle() {
+        if (getParent() != null) {
+            return;
+        }
+        for (int i = 0; i < watchers.size(); i++) {
+            super.removeTextChangedListener(watchers.get(i));
+        }
+        watchers.clear();
+        setOnFocusChangeListener(null);
+        setOnEditorActionListener(null);
+        selectionListener = null;
+        setFilters(new InputFilter[0]);
+        setText("");
+        setHint(null);
+        setId(View.NO_ID);
+        setImeHintLocales(null);
+        setTranslationX(0);
+        setTranslationY(0);
+        setVisibility(View.VISIBLE);
+        setEnabled(true);
+        setClickable(true);
+        setLongClickable(true);
+        setCursorVisible(true);
+        if (pool.size() < POOL_SIZE) {
+            pool.add(this);
+        }
+    }
+
+    /**
+     * Add text watcher and remember it for recycle
+     *
+     * @param watcher Text watcher
+     */
+    @Override
+    public void addTextChangedListener(TextWatcher watcher) {
+        super.addTextChangedListener(watcher);
+        if (watchers != null) {
+            watchers.add(watcher);
+        }
+    }
+
+    /**
+     * Remove text watcher
+     *
+     * @param watcher Text watcher
+     */
+    @Override
+    public void removeTextChangedListener(TextWatcher watcher) {
+        super.removeTextChangedListener(watcher);
+        if (watchers != null) {
+            watchers.remove(watcher);
+        }
+    }
+
+    /**
+     * Set selection listener
+     *
+     * @param listener Listener or null
+     */
+    void setSelectionListener(SelectionListener listener) {
+        selectionListener = listener;
+    }
+
+    /**
+     * Notify listener about new selection
+     *
+     * @param selStart Selection start
+     * @param selEnd   Selection end
+     */
+    @Override
+    protected void onSelectionChanged(int selStart, int selEnd) {
+        super.onSelectionChanged(selStart, selEnd);
+        if (selectionListener != null) {
+            selectionListener.onSelectionChanged(selStart, selEnd);
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.mopsicus.umi;
+
+import android.text.InputFilter;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class InputFilters {
+
+    /**
+     * Shape patterns for numbers
+     */
+    private static final String INTEGER = "-?\\d*";
+    private static final String DECIMAL = "-?\\d*([.,]\\d*)?";
+
+    /**
+     * Allowed special chars for email
+     */
+    private static final String EMAIL_CHARS = "!#$%&'*+-/=?^_`{|}~.@";
+
+    /**
+     * Chars classes, resolved once from config name
+     */
+    private static final int CHARS_ANY = 0;
+    private static final int CHARS_DIGITS = 1;
+    private static final int CHARS_LETTERS = 2;
+    private static final int CHARS_ALPHANUMERIC = 3;
+    private static final int CHARS_NAME = 4;
+    private static final int CHARS_EMAIL = 5;
+    private static final int CHARS_ASCII = 6;
+
+    /**
+     * Filter to keep only allowed chars class
+     */
+    private static class CharsFilter implements InputFilter {
+
+        /**
+         * Chars class
+         */
+        private final int chars;
+
+        /**
+         * Constructor
+         *
+         * @param chars Chars class
+         */
+        CharsFilter(int chars) {
+            this.chars = chars;
+        }
+
+        /**
+         * Check char by current class
+         *
+         * @param c Char to check
+         * @return True if allowed
+         */
+        private boolean isAllowed(char c) {
+            switch (chars) {
+                case CHARS_DIGITS:
+                    return Character.isDigit(c);
+                case CHARS_LETTERS:
+                    return Character.isLetter(c);
+                case CHARS_ALPHANUMERIC:
+                    return Character.isLetterOrDigit(c);
+                case CHARS_NAME:
+                    return Character.isLetter(c) || c == ' ' || c == '\'' || c == '-';
+                case CHARS_EMAIL:
+                    return Character.isLetterOrDigit(c) || EMAIL_CHARS.indexOf(c) >= 0;
+                case CHARS_ASCII:
+                    return c >= 32 && c < 127;
+                default:
+                    return true;
+            }
+        }
+
+        @Override
+        public CharSequence filter(CharSequence source, int start, int end, Spanned dest, int dstart, int dend) {
+            int i = start;
+            while (i < end && isAllowed(source.charAt(i))) {
+                i++;
+            }
+            if (i == end) {
+                return null;
+            }
+            if (source instanceof Spanned) {
+                SpannableStringBuilder result = new SpannableStringBuilder(source, start, end);
+                for (int j = end - 1; j >= i; j--) {
+                    if (!isAllowed(source.charAt(j))) {
+                        result.delete(j - start, j - start + 1);
+                    }
+                }
+                return result;
+            }
+            StringBuilder result = new StringBuilder(end - start);
+            result.append(source, start, i);
+            for (; i < end; i++) {
+                char c = source.charAt(i);
+                if (isAllowed(c)) {
+                    result.append(c);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Filter to reject changes which can't match pattern
+     * Partial match is allowed, so text can be typed char by char
+     */
+    private static class PatternFilter implements InputFilter {
+
+        /**
+         * Pattern for whole text
+         */
+        private final Pattern pattern;
+
+        /**
+         * Constructor
+         *
+         * @param pattern Pattern for whole text
+         */
+        PatternFilter(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public CharSequence filter(CharSequence source, int start, int end, Spanned dest, int dstart, int dend) {
+            StringBuilder result = new StringBuilder(dest.length() + end - start);
+            result.append(dest, 0, dstart).append(source, start, end).append(dest, dend, dest.length());
+            Matcher matcher = pattern.matcher(result);
+            if (matcher.matches() || matcher.hitEnd()) {
+                return null;
+            }
+            return dest.subSequence(dstart, dend);
+        }
+    }
+
+    /**
+     * Get chars class by config name
+     *
+     * @param name Chars class name
+     * @return Chars class, CHARS_ANY if unknown
+     */
+    private static int getCharsClass(String name) {
+        switch (name) {
+            case "Digits":
+                return CHARS_DIGITS;
+            case "Letters":
+                return CHARS_LETTERS;
+            case "Alphanumeric":
+                return CHARS_ALPHANUMERIC;
+            case "Name":
+                return CHARS_NAME;
+            case "Email":
+                return CHARS_EMAIL;
+            case "Ascii":
+                return CHARS_ASCII;
+            default:
+                return CHARS_ANY;
+        }
+    }
+
+    /**
+     * Build filters chain from config
+     * Config keys: max_length, chars, shape (Integer, Decimal), regex
+     *
+     * @param config         Filters config, can be null
+     * @param characterLimit Max length if config has no own value
+     * @return Filters for EditText
+     */
+    static InputFilter[] create(JSONObject config, int characterLimit) {
+        ArrayList<InputFilter> filters = new ArrayList<>();
+        int maxLength = characterLimit;
+        String chars = "";
+        String shape = "";
+        String regex = "";
+        if (config != null) {
+            maxLength = config.optInt("max_length", characterLimit);
+            chars = config.optString("chars");
+            shape = config.optString("shape");
+            regex = config.optString("regex");
+        }
+        if (maxLength > 0) {
+            filters.add(new InputFilter.LengthFilter(maxLength));
+        }
+        int charsClass = getCharsClass(chars);
+        if (charsClass != CHARS_ANY) {
+            filters.add(new CharsFilter(charsClass));
+        }
+        switch (shape) {
+            case "Integer":
+                filters.add(new PatternFilter(Pattern.compile(INTEGER)));
+                break;
+            case "Decimal":
+                filters.add(new PatternFilter(Pattern.compile(DECIMAL)));
+                break;
+        }
+        if (!regex.isEmpty()) {
+            filters.add(new PatternFilter(Pattern.compile(regex)));
+        }
+        return filters.toArray(new InputFilter[0]);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.mopsicus.umi;
+
+import android.content.Context;
+import android.widget.RelativeLayout;
+
+public class InputGroup extends RelativeLayout {
+
+    /**
+     * Normalized group offset
+     */
+    private float offsetX = 0;
+    private float offsetY = 0;
+
+    /**
+     * Constructor
+     *
+     * @param context Context for view
+     */
+    public InputGroup(Context context) {
+        super(context);
+    }
+
+    /**
+     * Set normalized offset and move group
+     *
+     * @param x            Normalized x offset
+     * @param y            Normalized y offset
+     * @param layoutWidth  Parent layout width
+     * @param layoutHeight Parent layout height
+     */
+    void setOffset(float x, float y, int layoutWidth, int layoutHeight) {
+        offsetX = x;
+        offsetY = y;
+        applyOffset(layoutWidth, layoutHeight);
+    }
+
+    /**
+     * Move group by translation, without layout pass
+     *
+     * @param layoutWidth  Parent layout width
+     * @param layoutHeight Parent layout height
+     */
+    void applyOffset(int layoutWidth, int layoutHeight) {
+        setTranslationX(offsetX * layoutWidth);
+        setTranslationY(offsetY * layoutHeight);
+    }
+
+}
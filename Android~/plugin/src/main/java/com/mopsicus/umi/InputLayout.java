@@ -0,0 +1,97 @@
+package com.mopsicus.umi;
+
+import android.content.Context;
+import android.widget.RelativeLayout;
+
+public class InputLayout extends RelativeLayout {
+
+    /**
+     * Callback on layout size change
+     */
+    interface ResizeListener {
+        void onResize(int width, int height);
+    }
+
+    /**
+     * Current resize listener
+     */
+    private ResizeListener resizeListener;
+
+    /**
+     * Last measured width
+     */
+    private int lastWidth = 0;
+
+    /**
+     * Last measured height
+     */
+    private int lastHeight = 0;
+
+    /**
+     * Count of layout passes, written on UI thread and read from Unity thread
+     */
+    private volatile int layoutCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param context Context for view
+     */
+    public InputLayout(Context context) {
+        super(context);
+    }
+
+    /**
+     * Set resize listener
+     *
+     * @param listener Listener or null
+     */
+    void setResizeListener(ResizeListener listener) {
+        resizeListener = listener;
+    }
+
+    /**
+     * Notify listener before children are measured, so they can be moved in same frame
+     *
+     * @param widthMeasureSpec  Width spec
+     * @param heightMeasureSpec Height spec
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = MeasureSpec.getSize(heightMeasureSpec);
+        if (width != lastWidth || height != lastHeight) {
+            lastWidth = width;
+            lastHeight = height;
+            if (resizeListener != null && width > 0 && height > 0) {
+                resizeListener.onResize(width, height);
+            }
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    /**
+     * Count layout passes
+     *
+     * @param changed Size or position changed
+     * @param l       Left
+     * @param t       Top
+     * @param r       Right
+     * @param b       Bottom
+     */
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        layoutCount++;
+        super.onLayout(changed, l, t, r, b);
+    }
+
+    /**
+     * Get count of layout passes
+     *
+     * @return Layout passes since creation
+     */
+    int getLayoutCount() {
+        return layoutCount;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mopsicus.umi;
+
+public class InputState {
+
+    /**
+     * State for input without data
+     */
+    static final InputState EMPTY = new InputState(0, 0, 0, false, true, 0, 0, 0, 0, 0);
+
+    /**
+     * Text version
+     */
+    final int version;
+
+    /**
+     * Selection start
+     */
+    final int selectionStart;
+
+    /**
+     * Selection end
+     */
+    final int selectionEnd;
+
+    /**
+     * Focus state
+     */
+    final boolean isFocused;
+
+    /**
+     * Visible state
+     */
+    final boolean isVisible;
+
+    /**
+     * Normalized rect
+     */
+    final float x;
+    final float y;
+    final float width;
+    final float height;
+
+    /**
+     * Input type for keyboard
+     */
+    final int inputType;
+
+    /**
+     * Constructor
+     *
+     * @param version        Text version
+     * @param selectionStart Selection start
+     * @param selectionEnd   Selection end
+     * @param isFocused      Focus state
+     * @param isVisible      Visible state
+     * @param x              Normalized x
+     * @param y              Normalized y
+     * @param width          Normalized width
+     * @param height         Normalized height
+     * @param inputType      Input type for keyboard
+     */
+    InputState(int version, int selectionStart, int selectionEnd, boolean isFocused, boolean isVisible, float x, float y, float width, float height, int inputType) {
+        this.version = version;
+        this.selectionStart = selectionStart;
+        this.selectionEnd = selectionEnd;
+        this.isFocused = isFocused;
+        this.isVisible = isVisible;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.inputType = inputType;
+    }
+
+}
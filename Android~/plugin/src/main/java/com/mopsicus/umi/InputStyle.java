@@ -0,0 +1,116 @@
+package com.mopsicus.umi;
+
+import android.graphics.Typeface;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InputStyle {
+
+    /**
+     * Registered styles by id
+     */
+    private static final ConcurrentHashMap<String, InputStyle> styles = new ConcurrentHashMap<>();
+
+    /**
+     * Packed ARGB colors
+     */
+    final int textColor;
+    final int backColor;
+    final int placeholderColor;
+    final int caretColor;
+    final int highlightColor;
+
+    /**
+     * Flag to change caret to custom color
+     */
+    final boolean isCaretChange;
+
+    /**
+     * Multiline flag
+     */
+    final boolean isMultiline;
+
+    /**
+     * Resolved input type, gravity and IME options
+     */
+    final int inputType;
+    final int gravity;
+    final int imeOptions;
+
+    /**
+     * Custom font name or path
+     */
+    final String font;
+
+    /**
+     * Constructor, resolves all values and starts font loading in background, safe to call from any thread
+     *
+     * @param data Style data, same keys as CREATE_EDIT
+     * @throws JSONException If required value is missing
+     */
+    InputStyle(JSONObject data) throws JSONException {
+        textColor = InputConfig.getColor(data, "text_color");
+        backColor = InputConfig.getColor(data, "back_color");
+        placeholderColor = InputConfig.getColor(data, "placeholder_color");
+        caretColor = InputConfig.getColor(data, "caret_color");
+        highlightColor = InputConfig.getColor(data, "highlight_color");
+        isCaretChange = data.getBoolean("caret_color");
+        isMultiline = data.getBoolean("multiline");
+        inputType = InputConfig.getInputType(data.getString("content_type"), data.optString("keyboard_type"), data.optString("input_type"), isMultiline);
+        gravity = InputConfig.getGravity(data.getString("align"));
+        imeOptions = InputConfig.getImeOptions(data.getString("return_key_type"));
+        font = data.getString("font");
+        FontCache.request(Plugin.activity, font);
+    }
+
+    /**
+     * Get typeface on UI thread, font is usually loaded in background by then
+     *
+     * @return Typeface, SANS_SERIF if font can't be loaded
+     */
+    Typeface getTypeface() {
+        return FontCache.get(Plugin.activity.getApplicationContext(), font);
+    }
+
+    /**
+     * Resolve and save style
+     *
+     * @param id   Style id
+     * @param data Style data
+     * @throws JSONException If required value is missing
+     */
+    static void register(String id, JSONObject data) throws JSONException {
+        styles.put(id, new InputStyle(data));
+    }
+
+    /**
+     * Get registered style by id from data, or resolve style values from data if id is not set
+     *
+     * @param data Command data
+     * @return Style
+     * @throws JSONException If style is not registered or value is missing
+     */
+    static InputStyle resolve(JSONObject data) throws JSONException {
+        String id = data.optString("style");
+        return id.isEmpty() ? new InputStyle(data) : get(id);
+    }
+
+    /**
+     * Get registered style
+     *
+     * @param id Style id
+     * @return Style
+     * @throws JSONException If style is not registered
+     */
+    static InputStyle get(String id) throws JSONException {
+        InputStyle style = styles.get(id);
+        if (style == null) {
+            throw new JSONException(String.format("style not registered: %s", id));
+        }
+        return style;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.mopsicus.umi;
+
+public interface KeyboardAnimationObserver {
+    void onKeyboardAnimationStart(int startHeight, int targetHeight, int duration);
+
+    void onKeyboardAnimationProgress(int keyboardHeight, int targetHeight);
+}
@@ -0,0 +1,234 @@
+package com.mopsicus.umi;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.os.Build;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.view.WindowInsets;
+import android.view.WindowInsetsAnimation;
+
+import java.util.List;
+
+@TargetApi(Build.VERSION_CODES.R)
+public class KeyboardAnimationProvider extends WindowInsetsAnimation.Callback implements KeyboardTracker {
+
+    /**
+     * Observer keyboard to send data
+     */
+    private final KeyboardObserver keyboardObserver;
+
+    /**
+     * Observer keyboard animation to send frames
+     */
+    private final KeyboardAnimationObserver animationObserver;
+
+    /**
+     * Observer orientation to send data
+     */
+    private final OrientationObserver orientationObserver;
+
+    /**
+     * Main activity
+     */
+    private final Activity activity;
+
+    /**
+     * Root view to get insets
+     */
+    private final View view;
+
+    /**
+     * Min time between progress frames in ms, 0 to send each frame
+     */
+    private final long frameInterval;
+
+    /**
+     * Layout listener for changes without animation
+     */
+    private final ViewTreeObserver.OnGlobalLayoutListener layoutListener = this::handleOnGlobalLayout;
+
+    /**
+     * Flag that keyboard animation is running
+     */
+    private boolean isAnimating = false;
+
+    /**
+     * Keyboard height after current animation
+     */
+    private int targetHeight;
+
+    /**
+     * Time of last progress frame
+     */
+    private long lastFrameTime;
+
+    /**
+     * Cached last progress height
+     */
+    private int lastFrameHeight;
+
+    /**
+     * Cached last orientation
+     */
+    private int lastOrientation;
+
+    /**
+     * Cached last height
+     */
+    private int lastHeight;
+
+    /**
+     * Constructor
+     *
+     * @param activity            Main Unity activity
+     * @param keyboardListener    Listener class to get callback
+     * @param animationListener   Listener class to get animation frames
+     * @param orientationListener Listener class to get callback
+     * @param maxFrameRate        Max progress frames per second, 0 for each frame
+     */
+    public KeyboardAnimationProvider(Activity activity, KeyboardObserver keyboardListener, KeyboardAnimationObserver animationListener, OrientationObserver orientationListener, int maxFrameRate) {
+        super(DISPATCH_MODE_CONTINUE_ON_SUBTREE);
+        this.keyboardObserver = keyboardListener;
+        this.animationObserver = animationListener;
+        this.orientationObserver = orientationListener;
+        this.activity = activity;
+        this.frameInterval = (maxFrameRate > 0) ? 1000L / maxFrameRate : 0;
+        view = activity.getWindow().getDecorView();
+        lastOrientation = activity.getResources().getConfiguration().orientation;
+        lastHeight = getKeyboardHeight(view.getRootWindowInsets());
+        view.setWindowInsetsAnimationCallback(this);
+        view.getViewTreeObserver().addOnGlobalLayoutListener(layoutListener);
+    }
+
+    /**
+     * Stop tracking
+     */
+    @Override
+    public void disable() {
+        view.setWindowInsetsAnimationCallback(null);
+        view.getViewTreeObserver().removeOnGlobalLayoutListener(layoutListener);
+    }
+
+    /**
+     * Get keyboard height above navigation bar, like popup provider does
+     *
+     * @param insets Window insets
+     * @return Height in pixels
+     */
+    private static int getKeyboardHeight(WindowInsets insets) {
+        if (insets == null) {
+            return 0;
+        }
+        int ime = insets.getInsets(WindowInsets.Type.ime()).bottom;
+        int navigation = insets.getInsets(WindowInsets.Type.navigationBars()).bottom;
+        return Math.max(ime - navigation, 0);
+    }
+
+    /**
+     * Check animation is for keyboard
+     *
+     * @param animation Insets animation
+     * @return True if keyboard is animated
+     */
+    private static boolean isKeyboard(WindowInsetsAnimation animation) {
+        return (animation.getTypeMask() & WindowInsets.Type.ime()) != 0;
+    }
+
+    /**
+     * Animation started, insets already have end state
+     *
+     * @param animation Insets animation
+     * @param bounds    Animation bounds
+     * @return Same bounds
+     */
+    @Override
+    public WindowInsetsAnimation.Bounds onStart(WindowInsetsAnimation animation, WindowInsetsAnimation.Bounds bounds) {
+        if (!isKeyboard(animation)) {
+            return bounds;
+        }
+        isAnimating = true;
+        targetHeight = getKeyboardHeight(view.getRootWindowInsets());
+        lastFrameTime = 0;
+        lastFrameHeight = lastHeight;
+        if (animationObserver != null) {
+            animationObserver.onKeyboardAnimationStart(lastHeight, targetHeight, (int) animation.getDurationMillis());
+        }
+        return bounds;
+    }
+
+    /**
+     * Animation frame, send current height with frame rate limit
+     *
+     * @param insets            Current insets
+     * @param runningAnimations Running animations
+     * @return Same insets
+     */
+    @Override
+    public WindowInsets onProgress(WindowInsets insets, List<WindowInsetsAnimation> runningAnimations) {
+        if (!isAnimating) {
+            return insets;
+        }
+        int keyboardHeight = getKeyboardHeight(insets);
+        if (keyboardHeight == lastFrameHeight) {
+            return insets;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (frameInterval > 0 && now - lastFrameTime < frameInterval) {
+            return insets;
+        }
+        lastFrameTime = now;
+        lastFrameHeight = keyboardHeight;
+        if (animationObserver != null) {
+            animationObserver.onKeyboardAnimationProgress(keyboardHeight, targetHeight);
+        }
+        return insets;
+    }
+
+    /**
+     * Animation finished, send final height
+     *
+     * @param animation Insets animation
+     */
+    @Override
+    public void onEnd(WindowInsetsAnimation animation) {
+        if (!isKeyboard(animation)) {
+            return;
+        }
+        isAnimating = false;
+        update(getKeyboardHeight(view.getRootWindowInsets()));
+    }
+
+    /**
+     * Handler for changes without animation and orientation
+     */
+    private void handleOnGlobalLayout() {
+        int orientation = activity.getResources().getConfiguration().orientation;
+        if (lastOrientation != orientation) {
+            lastOrientation = orientation;
+            if (orientationObserver != null) {
+                orientationObserver.onOrientationChanged(orientation);
+            }
+        }
+        if (!isAnimating) {
+            update(getKeyboardHeight(view.getRootWindowInsets()));
+        }
+    }
+
+    /**
+     * Send final keyboard height if changed
+     *
+     * @param keyboardHeight Keyboard height
+     */
+    private void update(int keyboardHeight) {
+        if (lastHeight == keyboardHeight) {
+            return;
+        }
+        lastHeight = keyboardHeight;
+        if (keyboardObserver != null) {
+            keyboardObserver.onKeyboardHeight(view.getHeight(), keyboardHeight, lastOrientation);
+        }
+    }
+
+}
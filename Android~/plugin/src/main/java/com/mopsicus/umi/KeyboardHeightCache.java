@@ -0,0 +1,180 @@
+package com.mopsicus.umi;
+
+import android.content.ComponentCallbacks;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.res.Configuration;
+import android.database.ContentObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.Settings;
+import android.text.InputType;
+import android.util.DisplayMetrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class KeyboardHeightCache {
+
+    /**
+     * Preferences file name
+     */
+    private static final String PREFERENCES = "umi_keyboard";
+
+    /**
+     * App context
+     */
+    private final Context context;
+
+    /**
+     * Stored heights
+     */
+    private final SharedPreferences preferences;
+
+    /**
+     * Heights in memory, to read without disk access
+     */
+    private final ConcurrentHashMap<String, Integer> heights = new ConcurrentHashMap<>();
+
+    /**
+     * Built keys by orientation and input type class, replaced when keyboard app or screen size changes
+     */
+    private volatile ConcurrentHashMap<Integer, String> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Keyboard app and screen size part of key
+     */
+    private volatile String device = "";
+
+    /**
+     * Listener to update screen size on configuration change
+     */
+    private final ComponentCallbacks callbacks = new ComponentCallbacks() {
+        @Override
+        public void onConfigurationChanged(Configuration configuration) {
+            refresh();
+        }
+
+        @Override
+        public void onLowMemory() {
+            // Auto-generated method stub
+
+        }
+    };
+
+    /**
+     * Observer to update keyboard app on switch
+     */
+    private final ContentObserver keyboardObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+        @Override
+        public void onChange(boolean selfChange) {
+            refresh();
+        }
+    };
+
+    /**
+     * Constructor
+     *
+     * @param context Context to get preferences and screen
+     */
+    KeyboardHeightCache(Context context) {
+        this.context = context.getApplicationContext();
+        this.preferences = this.context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        refresh();
+        this.context.registerComponentCallbacks(callbacks);
+        this.context.getContentResolver().registerContentObserver(Settings.Secure.getUriFor(Settings.Secure.DEFAULT_INPUT_METHOD), false, keyboardObserver);
+    }
+
+    /**
+     * Stop listening configuration and keyboard app changes
+     */
+    void release() {
+        context.unregisterComponentCallbacks(callbacks);
+        context.getContentResolver().unregisterContentObserver(keyboardObserver);
+    }
+
+    /**
+     * Get predicted keyboard height, safe to call from any thread
+     *
+     * @param orientation Screen orientation
+     * @param inputType   Input type of focused field
+     * @return Last observed height or 0 if unknown
+     */
+    int predict(int orientation, int inputType) {
+        String key = key(orientation, inputType);
+        Integer height = heights.get(key);
+        if (height == null) {
+            height = preferences.getInt(key, 0);
+            heights.put(key, height);
+        }
+        return height;
+    }
+
+    /**
+     * Save observed keyboard height, allocates nothing if height is known already
+     *
+     * @param orientation Screen orientation
+     * @param inputType   Input type of focused field
+     * @param height      Keyboard height
+     */
+    void save(int orientation, int inputType, int height) {
+        if (height <= 0) {
+            return;
+        }
+        String key = key(orientation, inputType);
+        Integer last = heights.get(key);
+        if (last != null && last == height) {
+            return;
+        }
+        heights.put(key, height);
+        preferences.edit().putInt(key, height).apply();
+    }
+
+    /**
+     * Get key from orientation, keyboard app, screen size and input type class
+     * Key is built once until keyboard app or screen size changes
+     *
+     * @param orientation Screen orientation
+     * @param inputType   Input type
+     * @return Key for height
+     */
+    private String key(int orientation, int inputType) {
+        int typeClass = inputType & InputType.TYPE_MASK_CLASS;
+        Integer code = Integer.valueOf((orientation << 4) | typeClass);
+        ConcurrentHashMap<Integer, String> built = keys;
+        String key = built.get(code);
+        if (key == null) {
+            key = orientation + "_" + device + "_" + typeClass;
+            built.put(code, key);
+        }
+        return key;
+    }
+
+    /**
+     * Read keyboard app and screen size, drop built keys
+     */
+    private void refresh() {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        String next = getKeyboardPackage() + "_" + metrics.widthPixels + "x" + metrics.heightPixels;
+        if (next.equals(device)) {
+            return;
+        }
+        device = next;
+        keys = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get package of current keyboard app
+     *
+     * @return Package name or empty string
+     */
+    private String getKeyboardPackage() {
+        String method = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.DEFAULT_INPUT_METHOD);
+        if (method == null) {
+            return "";
+        }
+        ComponentName component = ComponentName.unflattenFromString(method);
+        return (component == null) ? method : component.getPackageName();
+    }
+
+}
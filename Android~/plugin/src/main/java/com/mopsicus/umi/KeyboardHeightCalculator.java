@@ -0,0 +1,108 @@
+package com.mopsicus.umi;
+
+import android.content.res.Configuration;
+
+public class KeyboardHeightCalculator {
+
+    /**
+     * Observer keyboard to send data
+     */
+    private final KeyboardObserver keyboardObserver;
+
+    /**
+     * Observer orientation to send data
+     */
+    private final OrientationObserver orientationObserver;
+
+    /**
+     * Max height for landscape
+     */
+    private int heightLandscapeMax;
+
+    /**
+     * Max height for portrait
+     */
+    private int heightPortraitMax;
+
+    /**
+     * Height of navigation bar
+     */
+    private final int navBarHeight;
+
+    /**
+     * Cached last orientation
+     */
+    private int lastOrientation;
+
+    /**
+     * Cached last height
+     */
+    private int lastHeight;
+
+    /**
+     * Cached last visible frame bottom, to skip layout passes without changes
+     */
+    private int lastBottom = -1;
+
+    /**
+     * Constructor
+     *
+     * @param keyboardObserver    Listener to get keyboard height
+     * @param orientationObserver Listener to get orientation
+     * @param navBarHeight        Height of navigation bar
+     * @param orientation         Current orientation
+     */
+    KeyboardHeightCalculator(KeyboardObserver keyboardObserver, OrientationObserver orientationObserver, int navBarHeight, int orientation) {
+        this.keyboardObserver = keyboardObserver;
+        this.orientationObserver = orientationObserver;
+        this.navBarHeight = navBarHeight;
+        this.lastOrientation = orientation;
+    }
+
+    /**
+     * Get keyboard height from visible frame, notify only on changes, allocates nothing
+     *
+     * @param bottom      Bottom of visible frame
+     * @param orientation Current orientation
+     */
+    void onFrame(int bottom, int orientation) {
+        if (bottom == lastBottom && orientation == lastOrientation) {
+            return;
+        }
+        lastBottom = bottom;
+        int keyboardHeight = 0;
+        switch (orientation) {
+            case Configuration.ORIENTATION_PORTRAIT:
+                if (bottom > heightPortraitMax) {
+                    heightPortraitMax = bottom;
+                }
+                keyboardHeight = heightPortraitMax - bottom;
+                break;
+            case Configuration.ORIENTATION_LANDSCAPE:
+                if (bottom > heightLandscapeMax) {
+                    heightLandscapeMax = bottom;
+                }
+                keyboardHeight = heightLandscapeMax - bottom;
+                break;
+            default:
+                break;
+        }
+        if (keyboardHeight > 0) {
+            keyboardHeight += navBarHeight;
+        }
+        int height = (orientation == Configuration.ORIENTATION_PORTRAIT) ? heightPortraitMax : heightLandscapeMax;
+        if (lastHeight != keyboardHeight) {
+            lastHeight = keyboardHeight;
+            if (keyboardObserver != null) {
+                keyboardObserver.onKeyboardHeight(height, keyboardHeight, orientation);
+            }
+        }
+        if (lastOrientation != orientation) {
+            lastOrientation = orientation;
+            if (orientationObserver != null) {
+                orientationObserver.onOrientationChanged(orientation);
+            }
+        }
+    }
+
+}
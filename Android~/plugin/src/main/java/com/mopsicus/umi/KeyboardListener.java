@@ -1,11 +1,6 @@
 package com.mopsicus.umi;
 
-import android.util.Log;
-
-import org.json.JSONException;
-import org.json.JSONObject;
-
-public class KeyboardListener implements KeyboardObserver {
+public class KeyboardListener implements KeyboardObserver, KeyboardAnimationObserver {
 
     /**
      * Callback on keyboard show/hide
@@ -17,17 +12,35 @@ public class KeyboardListener implements KeyboardObserver {
     @Override
     public void onKeyboardHeight(int height, int keyboardHeight, int orientation) {
         boolean isShow = (keyboardHeight > 0);
-        JSONObject json = new JSONObject();
-        try {
-            json.put("action", "KEYBOARD");
-            json.put("show", isShow);
-            json.put("height", keyboardHeight);
-        } catch (JSONException e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("on keyboard height error: %s", e));
-            }
+        Plugin.keyboardHeight = keyboardHeight;
+        if (isShow) {
+            Plugin.keyboardCache.save(orientation, Plugin.keyboardInputType, keyboardHeight);
         }
-        Plugin.bridge.sendData(json.toString());
+        Plugin.bridge.send(Event.obtain(Protocol.KEYBOARD, Protocol.GLOBAL).put("show", isShow).put("height", keyboardHeight));
+    }
+
+    /**
+     * Callback on keyboard animation start
+     *
+     * @param startHeight  Keyboard height before animation
+     * @param targetHeight Keyboard height after animation
+     * @param duration     Animation duration in ms
+     */
+    @Override
+    public void onKeyboardAnimationStart(int startHeight, int targetHeight, int duration) {
+        Plugin.bridge.send(Event.obtain(Protocol.KEYBOARD_START, Protocol.GLOBAL).put("start", startHeight).put("target", targetHeight).put("duration", duration));
+    }
+
+    /**
+     * Callback on keyboard animation frame
+     *
+     * @param keyboardHeight Current keyboard height
+     * @param targetHeight   Keyboard height after animation
+     */
+    @Override
+    public void onKeyboardAnimationProgress(int keyboardHeight, int targetHeight) {
+        Plugin.keyboardHeight = keyboardHeight;
+        Plugin.bridge.send(Event.obtain(Protocol.KEYBOARD_PROGRESS, Protocol.GLOBAL).put("height", keyboardHeight).put("target", targetHeight));
     }
 
 }
@@ -3,12 +3,9 @@ package com.mopsicus.umi;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
-import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.graphics.Rect;
 import android.graphics.drawable.ColorDrawable;
-import android.util.DisplayMetrics;
-import android.view.Display;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -16,17 +13,7 @@ import android.view.ViewGroup;
 import android.view.WindowManager;
 import android.widget.PopupWindow;
 
-public class KeyboardProvider extends PopupWindow {
-
-    /**
-     * Observer keyboard to send data
-     */
-    private final KeyboardObserver keyboardObserver;
-
-    /**
-     * Observer orientation to send data
-     */
-    private final OrientationObserver orientationObserver;
+public class KeyboardProvider extends PopupWindow implements KeyboardTracker {
 
     /**
      * Popup view for process
@@ -39,29 +26,14 @@ public class KeyboardProvider extends PopupWindow {
     private final Activity activity;
 
     /**
-     * Max height for landscape
+     * Keyboard height from visible frame
      */
-    private int heightLandscapeMax;
+    private final KeyboardHeightCalculator calculator;
 
     /**
-     * Max height for portrait
+     * Reusable rect for visible frame
      */
-    private int heightPortraitMax;
-
-    /**
-     * Height of navigation bar
-     */
-    private final int navBarHeight;
-
-    /**
-     * Cached last orientation
-     */
-    private int lastOrientation;
-
-    /**
-     * Cached last height
-     */
-    private int lastHeight;
+    private final Rect rect = new Rect();
 
     /**
      * Constructor
@@ -73,8 +45,6 @@ public class KeyboardProvider extends PopupWindow {
      */
     public KeyboardProvider(Activity activity, ViewGroup parent, KeyboardObserver keyboardListener, OrientationObserver orientationListener) {
         super(activity);
-        this.keyboardObserver = keyboardListener;
-        this.orientationObserver = orientationListener;
         this.activity = activity;
         Resources resources = this.activity.getResources();
         String packageName = this.activity.getPackageName();
@@ -88,14 +58,14 @@ public class KeyboardProvider extends PopupWindow {
         setHeight(WindowManager.LayoutParams.MATCH_PARENT);
         setBackgroundDrawable(new ColorDrawable(0));
         showAtLocation(parent, Gravity.NO_GRAVITY, 0, 0);
-        navBarHeight = getNavigationBarHeight();
-        lastOrientation = getScreenOrientation();
+        calculator = new KeyboardHeightCalculator(keyboardListener, orientationListener, getNavigationBarHeight(), getScreenOrientation());
         popupView.getViewTreeObserver().addOnGlobalLayoutListener(this::handleOnGlobalLayout);
     }
 
     /**
      * Close fake popup
      */
+    @Override
     public void disable() {
         dismiss();
     }
@@ -111,133 +81,17 @@ public class KeyboardProvider extends PopupWindow {
 
     /**
      * Get height of navigation bar
+     * On all modern devices works correctly with Unity full screen mode app, real height is measured by MetricsProvider
      */
     private int getNavigationBarHeight() {
         return 0;
-/*
-        On all modern devices works correctly
-        With Unity full screen mode app
-        if (!checkSoftKeys() || getNavBarNavigationType() == 2) {
-            return 0;
-        }
-        Resources resources = activity.getResources();
-        int resourceId = resources.getIdentifier("navigation_bar_height", "dimen", "android");
-        if (resourceId > 0) {
-            return resources.getDimensionPixelSize(resourceId);
-        }
-        return 0;
-*/
-    }
-
-    /**
-     * Get height of navigation bar for custom behaviour
-     */
-    public int getNavBarHeight() {
-        if (!checkSoftKeys() || getNavBarNavigationType() == 2) {
-            return 0;
-        }
-        Resources resources = activity.getResources();
-        int resourceId = resources.getIdentifier("navigation_bar_height", "dimen", "android");
-        if (resourceId > 0) {
-            return resources.getDimensionPixelSize(resourceId);
-        }
-        return 0;
-    }
-
-    /**
-     * Return type of screen navigation
-     * 0 : Navigation is displaying with 3 buttons
-     * 1 : Navigation is displaying with 2 button(Android P navigation mode)
-     * 2 : Full screen gesture(Gesture on android Q)
-     *
-     * @return int of type
-     */
-    @SuppressWarnings("unused")
-    public int getNavBarNavigationType() {
-        Resources resources = activity.getResources();
-        @SuppressLint("DiscouragedApi") int resourceId = resources.getIdentifier("config_navBarInteractionMode", "integer", "android");
-        if (resourceId > 0) {
-            return resources.getInteger(resourceId);
-        }
-        return 0;
-    }
-
-    /**
-     * Check soft keys on screen
-     */
-    @SuppressWarnings("unused")
-    private boolean checkSoftKeys() {
-        Display display = activity.getWindowManager().getDefaultDisplay();
-        DisplayMetrics realDisplayMetrics = new DisplayMetrics();
-        display.getRealMetrics(realDisplayMetrics);
-        int realHeight = realDisplayMetrics.heightPixels;
-        int realWidth = realDisplayMetrics.widthPixels;
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        display.getMetrics(displayMetrics);
-        int displayHeight = displayMetrics.heightPixels;
-        int displayWidth = displayMetrics.widthPixels;
-        return (realWidth - displayWidth) > 0 || (realHeight - displayHeight) > 0;
     }
 
     /**
      * Handler to get keyboard height
      */
     private void handleOnGlobalLayout() {
-        Rect rect = new Rect();
         popupView.getWindowVisibleDisplayFrame(rect);
-        int orientation = getScreenOrientation();
-        int keyboardHeight = 0;
-        switch (orientation) {
-            case Configuration.ORIENTATION_PORTRAIT:
-                if (rect.bottom > heightPortraitMax) {
-                    heightPortraitMax = rect.bottom;
-                }
-                keyboardHeight = heightPortraitMax - rect.bottom;
-                break;
-            case Configuration.ORIENTATION_LANDSCAPE:
-                if (rect.bottom > heightLandscapeMax) {
-                    heightLandscapeMax = rect.bottom;
-                }
-                keyboardHeight = heightLandscapeMax - rect.bottom;
-                break;
-            default:
-                break;
-        }
-        if (keyboardHeight > 0) {
-            keyboardHeight += navBarHeight;
-        }
-        int height = (orientation == Configuration.ORIENTATION_PORTRAIT) ? heightPortraitMax : heightLandscapeMax;
-        if (lastHeight != keyboardHeight) {
-            lastHeight = keyboardHeight;
-            notifyKeyboardHeight(height, keyboardHeight, orientation);
-        }
-        if (lastOrientation != orientation) {
-            lastOrientation = orientation;
-            notifyOrientationChanged(orientation);
-        }
-    }
-
-    /**
-     * Send data observer
-     *
-     * @param height         Screen height
-     * @param keyboardHeight Real height
-     * @param orientation    Current orientation
-     */
-    private void notifyKeyboardHeight(int height, int keyboardHeight, int orientation) {
-        if (keyboardObserver != null) {
-            keyboardObserver.onKeyboardHeight(height, keyboardHeight, orientation);
-        }
-    }
-
-    /**
-     * Send data to observer
-     *
-     * @param orientation Current orientation
-     */
-    private void notifyOrientationChanged(int orientation) {
-        if (orientationObserver != null) {
-            orientationObserver.onOrientationChanged(orientation);
-        }
+        calculator.onFrame(rect.bottom, getScreenOrientation());
     }
 }
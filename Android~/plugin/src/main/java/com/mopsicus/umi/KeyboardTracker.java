@@ -0,0 +1,5 @@
+package com.mopsicus.umi;
+
+public interface KeyboardTracker {
+    void disable();
+}
@@ -0,0 +1,168 @@
+package com.mopsicus.umi;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.content.ComponentCallbacks;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.view.Display;
+import android.view.DisplayCutout;
+import android.view.View;
+import android.view.WindowInsets;
+
+public class MetricsProvider {
+
+    /**
+     * Main activity
+     */
+    private final Activity activity;
+
+    /**
+     * View to listen layout changes and get insets
+     */
+    private final View view;
+
+    /**
+     * Resource id of navigation bar height, 0 if not exists
+     */
+    private final int navBarHeightId;
+
+    /**
+     * Resource id of navigation mode, 0 if not exists
+     */
+    private final int navBarModeId;
+
+    /**
+     * Reusable holders for display sizes
+     */
+    private final DisplayMetrics realMetrics = new DisplayMetrics();
+    private final DisplayMetrics metrics = new DisplayMetrics();
+
+    /**
+     * Listener to update metrics on resize
+     */
+    private final View.OnLayoutChangeListener layoutListener = (v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
+        if (right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+            update();
+        }
+    };
+
+    /**
+     * Update after insets are dispatched, insets of view are actual only then
+     */
+    private final Runnable updater = this::update;
+
+    /**
+     * Listener to update metrics on insets change, cutout insets swap on 180 rotation without resize
+     */
+    private final View.OnApplyWindowInsetsListener insetsListener = (v, insets) -> {
+        v.removeCallbacks(updater);
+        v.post(updater);
+        return v.onApplyWindowInsets(insets);
+    };
+
+    /**
+     * Listener to update metrics on configuration change, navigation mode can change without resize
+     */
+    private final ComponentCallbacks callbacks = new ComponentCallbacks() {
+        @Override
+        public void onConfigurationChanged(Configuration configuration) {
+            view.removeCallbacks(updater);
+            view.post(updater);
+        }
+
+        @Override
+        public void onLowMemory() {
+            // Auto-generated method stub
+
+        }
+    };
+
+    /**
+     * Latest metrics, readable from any thread
+     */
+    private volatile ScreenMetrics current = ScreenMetrics.EMPTY;
+
+    /**
+     * Constructor
+     *
+     * @param activity Main Unity activity
+     * @param view     View to follow, inputs layout
+     */
+    @SuppressLint("DiscouragedApi")
+    MetricsProvider(Activity activity, View view) {
+        this.activity = activity;
+        this.view = view;
+        Resources resources = activity.getResources();
+        navBarHeightId = resources.getIdentifier("navigation_bar_height", "dimen", "android");
+        navBarModeId = resources.getIdentifier("config_navBarInteractionMode", "integer", "android");
+        view.addOnLayoutChangeListener(layoutListener);
+        view.setOnApplyWindowInsetsListener(insetsListener);
+        activity.registerComponentCallbacks(callbacks);
+        update();
+    }
+
+    /**
+     * Stop listening changes
+     */
+    void disable() {
+        view.removeOnLayoutChangeListener(layoutListener);
+        view.setOnApplyWindowInsetsListener(null);
+        view.removeCallbacks(updater);
+        activity.unregisterComponentCallbacks(callbacks);
+    }
+
+    /**
+     * Get latest metrics, safe to call from any thread
+     *
+     * @return Cached metrics
+     */
+    ScreenMetrics get() {
+        return current;
+    }
+
+    /**
+     * Measure metrics on UI thread and send to Unity if changed
+     */
+    void update() {
+        Resources resources = activity.getResources();
+        Display display = activity.getWindowManager().getDefaultDisplay();
+        display.getRealMetrics(realMetrics);
+        display.getMetrics(metrics);
+        int navBarType = (navBarModeId > 0) ? resources.getInteger(navBarModeId) : 0;
+        boolean isSoftKeys = (realMetrics.widthPixels - metrics.widthPixels) > 0 || (realMetrics.heightPixels - metrics.heightPixels) > 0;
+        int navBarHeight = (isSoftKeys && navBarType != 2 && navBarHeightId > 0) ? resources.getDimensionPixelSize(navBarHeightId) : 0;
+        int safeLeft = 0;
+        int safeTop = 0;
+        int safeRight = 0;
+        int safeBottom = 0;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            WindowInsets insets = view.getRootWindowInsets();
+            DisplayCutout cutout = (insets == null) ? null : insets.getDisplayCutout();
+            if (cutout != null) {
+                safeLeft = cutout.getSafeInsetLeft();
+                safeTop = cutout.getSafeInsetTop();
+                safeRight = cutout.getSafeInsetRight();
+                safeBottom = cutout.getSafeInsetBottom();
+            }
+        }
+        ScreenMetrics next = new ScreenMetrics(navBarHeight, navBarType, safeLeft, safeTop, safeRight, safeBottom, realMetrics.densityDpi, realMetrics.widthPixels, realMetrics.heightPixels);
+        if (next.isSame(current)) {
+            return;
+        }
+        current = next;
+        Plugin.bridge.send(Event.obtain(Protocol.METRICS, Protocol.GLOBAL)
+                .put("nav_height", next.navBarHeight)
+                .put("nav_type", next.navBarType)
+                .put("safe_left", next.safeLeft)
+                .put("safe_top", next.safeTop)
+                .put("safe_right", next.safeRight)
+                .put("safe_bottom", next.safeBottom)
+                .put("dpi", next.densityDpi)
+                .put("width", next.width)
+                .put("height", next.height));
+    }
+
+}
@@ -6,64 +6,57 @@ import android.content.res.Resources;
 import android.graphics.Color;
 import android.graphics.PorterDuff;
 import android.graphics.Rect;
-import android.graphics.Typeface;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.InsetDrawable;
 import android.os.Build;
 import android.os.LocaleList;
+import android.os.SystemClock;
 import android.text.Editable;
-import android.text.InputType;
+import android.text.InputFilter;
+import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.util.Log;
 import android.util.SparseArray;
 import android.util.TypedValue;
-import android.view.Gravity;
 import android.view.KeyEvent;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
-import android.widget.EditText;
 import android.widget.RelativeLayout;
 import android.widget.RelativeLayout.LayoutParams;
 import android.widget.TextView;
 
-import org.json.JSONException;
-import org.json.JSONObject;
-
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class MobileInput {
 
-    private static final String CREATE = "CREATE_EDIT";
-    private static final String REMOVE = "REMOVE_EDIT";
-    private static final String SET_TEXT = "SET_TEXT";
-    private static final String SET_CONTENT_TYPE = "SET_CONTENT_TYPE";
-    private static final String SET_TEXT_COLOR = "SET_TEXT_COLOR";
-    private static final String SET_PTEXT_COLOR = "SET_PTEXT_COLOR";
-    private static final String SET_BG_COLOR = "SET_BG_COLOR";
-    private static final String SET_READ_ONLY = "SET_READ_ONLY";
-    private static final String SET_CARET = "SET_CARET";
-    private static final String SET_RECT = "SET_RECT";
-    private static final String SET_FOCUS = "SET_FOCUS";
-    private static final String ON_FOCUS = "ON_FOCUS";
-    private static final String ON_UNFOCUS = "ON_UNFOCUS";
-    private static final String SET_VISIBLE = "SET_VISIBLE";
-    private static final String SET_LANGUAGE = "SET_LANGUAGE";
-    private static final String TEXT_CHANGE = "TEXT_CHANGE";
-    private static final String TEXT_END_EDIT = "TEXT_END_EDIT";
-    private static final String ANDROID_KEY_DOWN = "ANDROID_KEY_DOWN";
-    private static final String RETURN_PRESSED = "RETURN_PRESSED";
-    private static final String READY = "READY";
+    /**
+     * Policies to send TEXT_CHANGE
+     */
+    static final int CHANGE_IMMEDIATE = 0;
+    static final int CHANGE_THROTTLE = 1;
+    static final int CHANGE_DEBOUNCE = 2;
+    static final int CHANGE_END_EDIT = 3;
 
     /**
      * Edit component
      */
-    private EditText edit;
+    private InputEdit edit;
+
+    /**
+     * Headless component, receives IME input without drawing text
+     */
+    private HeadlessInput headless = null;
 
     /**
      * Input id
@@ -75,11 +68,6 @@ public class MobileInput {
      */
     private final RelativeLayout layout;
 
-    /**
-     * Character limit for input
-     */
-    private int characterLimit;
-
     /**
      * Current input type
      */
@@ -95,11 +83,116 @@ public class MobileInput {
      */
     private boolean isCaretChange = false;
 
+    /**
+     * Flag to send text changes as deltas instead of full text
+     */
+    private boolean isTextDelta = false;
+
+    /**
+     * Text version, increased on each user change
+     */
+    private int textVersion = 0;
+
+    /**
+     * Flag for text changes made by plugin itself, they are not sent back to Unity
+     */
+    private boolean isSilentChange = false;
+
+    /**
+     * Current policy to send TEXT_CHANGE
+     */
+    private int textChangeMode = CHANGE_IMMEDIATE;
+
+    /**
+     * Interval for throttle and debounce in ms
+     */
+    private int textChangeInterval = 0;
+
+    /**
+     * Time of last sent TEXT_CHANGE
+     */
+    private long lastTextChangeTime = 0;
+
+    /**
+     * Flag for not sent text change
+     */
+    private boolean isTextChangePending = false;
+
+    /**
+     * Runnable for delayed TEXT_CHANGE
+     */
+    private final Runnable textChangeRunnable = this::flushTextChange;
+
+    /**
+     * Normalized rect from Unity
+     */
+    private float normalX = 0;
+    private float normalY = 0;
+    private float normalWidth = 0;
+    private float normalHeight = 0;
+
+    /**
+     * Visible state
+     */
+    private boolean isVisible = true;
+
+    /**
+     * Shared editor mode, native view exists only while input is focused
+     */
+    private boolean isShared = false;
+
+    /**
+     * Create config to build native view on focus
+     */
+    private InputConfig config = null;
+
+    /**
+     * Text and selection saved while native view is detached
+     */
+    private String sharedText = "";
+    private int sharedSelectionStart = 0;
+    private int sharedSelectionEnd = 0;
+
+    /**
+     * One-shot commands received while native view is detached, latest per command, caret goes to saved selection instead
+     */
+    private final ArrayList<Command> pending = new ArrayList<>();
+
+    /**
+     * Property commands of shared input, latest per command in order of arrival, applied on each attach
+     */
+    private final ArrayList<Command> properties = new ArrayList<>();
+
+    /**
+     * Latest state snapshot, readable from any thread
+     */
+    private final AtomicReference<InputState> state = new AtomicReference<>(InputState.EMPTY);
+
     /**
      * List of inputs
      */
     private static SparseArray<MobileInput> mobileInputList = null;
 
+    /**
+     * Group containers by name
+     */
+    private static final HashMap<String, InputGroup> groups = new HashMap<>();
+
+    /**
+     * Group keys for command queue by name
+     */
+    private static final ConcurrentHashMap<String, Integer> groupKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Group keys counter
+     */
+    private static final AtomicInteger groupCounter = new AtomicInteger();
+
+    /**
+     * State snapshots of inputs for any thread
+     */
+    private static final ConcurrentHashMap<Integer, AtomicReference<InputState>> states = new ConcurrentHashMap<>();
+
     /**
      * Constructor
      *
@@ -111,421 +204,667 @@ public class MobileInput {
     }
 
     /**
-     * Handler to process all messages for MobileInput
+     * Handler to process decoded command for MobileInput, UI thread only
      *
-     * @param id   Input id
-     * @param data Data to process
+     * @param id      Input id
+     * @param command Typed command
      */
-    public static void processMessage(int id, final String data) {
+    static void processCommand(int id, Command command) {
         if (mobileInputList == null) {
             mobileInputList = new SparseArray<>();
         }
-        try {
-            JSONObject json = new JSONObject(data);
-            String msg = json.getString("msg");
-            if (msg.equals(CREATE)) {
-                MobileInput input = new MobileInput(Plugin.layout);
-                input.Create(id, json);
-                mobileInputList.append(id, input);
-            } else {
-                MobileInput input = mobileInputList.get(id);
-                if (input != null) {
-                    input.processData(json);
-                }
+        if (command.type == Command.CREATE) {
+            MobileInput input = new MobileInput(Plugin.layout);
+            input.Create(id, command.config);
+            mobileInputList.append(id, input);
+        } else {
+            MobileInput input = mobileInputList.get(id);
+            if (input != null) {
+                input.processData(command);
             }
-        } catch (JSONException e) {
-            Plugin.bridge.sendError("RECEIVE_ERROR", e.getMessage());
         }
     }
 
     /**
-     * Convert color from JSON
+     * Get latest state snapshot, safe to call from any thread
      *
-     * @param data JSON object
-     * @return Color
+     * @param id Input id
+     * @return State or null if input not exists
+     */
+    static InputState getState(int id) {
+        AtomicReference<InputState> reference = states.get(id);
+        return (reference == null) ? null : reference.get();
+    }
+
+    /**
+     * Publish new state snapshot
      */
-    int getColor(JSONObject data) {
-        try {
-            int color_r = (int) (255.0f * data.getDouble("color_r"));
-            int color_g = (int) (255.0f * data.getDouble("color_g"));
-            int color_b = (int) (255.0f * data.getDouble("color_b"));
-            int color_a = (int) (255.0f * data.getDouble("color_a"));
-            return Color.argb(color_a, color_r, color_g, color_b);
-        } catch (Exception e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("get color error: %s", e));
+    private void publishState() {
+        if (headless != null) {
+            state.set(new InputState(textVersion, headless.getSelectionStart(), headless.getSelectionEnd(), headless.isFocused(), isVisible, normalX, normalY, normalWidth, normalHeight, headless.getInputType()));
+            return;
+        }
+        if (edit == null) {
+            if (isShared) {
+                state.set(new InputState(textVersion, sharedSelectionStart, sharedSelectionEnd, false, isVisible, normalX, normalY, normalWidth, normalHeight, state.get().inputType));
             }
-            return Color.BLACK;
+            return;
+        }
+        state.set(new InputState(textVersion, edit.getSelectionStart(), edit.getSelectionEnd(), edit.isFocused(), isVisible, normalX, normalY, normalWidth, normalHeight, edit.getInputType()));
+    }
+
+    /**
+     * Find input by id
+     *
+     * @param id Input id
+     * @return Input or null if not exists
+     */
+    private static MobileInput find(int id) {
+        if (mobileInputList == null) {
+            return null;
+        }
+        return mobileInputList.get(id);
+    }
+
+    /**
+     * Set new position and size without JSON
+     *
+     * @param id     Input id
+     * @param x      Normalized x
+     * @param y      Normalized y
+     * @param width  Normalized width
+     * @param height Normalized height
+     */
+    static void setRect(int id, float x, float y, float width, float height) {
+        MobileInput input = find(id);
+        if (input != null) {
+            input.SetRect(x, y, width, height);
+        }
+    }
+
+    /**
+     * Set or clear focus without JSON
+     *
+     * @param id      Input id
+     * @param isFocus Focus state
+     */
+    static void setFocus(int id, boolean isFocus) {
+        MobileInput input = find(id);
+        if (input != null) {
+            input.SetFocus(isFocus);
+        }
+    }
+
+    /**
+     * Set visible without JSON
+     *
+     * @param id        Input id
+     * @param isVisible Visible flag
+     */
+    static void setVisible(int id, boolean isVisible) {
+        MobileInput input = find(id);
+        if (input != null) {
+            input.SetVisible(isVisible);
         }
     }
 
     /**
      * Process command for MobileInput
      *
-     * @param data Data from Unity
+     * @param command Command from Unity
      */
-    private void processData(JSONObject data) {
-        try {
-            String msg = data.getString("msg");
-            switch (msg) {
-                case REMOVE:
-                    this.Remove();
-                    break;
-                case SET_TEXT:
-                    String text = data.getString("text");
-                    this.SetText(text);
-                    break;
-                case SET_TEXT_COLOR:
-                    edit.setTextColor(this.getColor(data));
-                    break;
-                case SET_PTEXT_COLOR:
-                    edit.setHintTextColor(this.getColor(data));
-                    break;
-                case SET_BG_COLOR:
-                    edit.setBackgroundColor(this.getColor(data));
-                    break;
-                case SET_CARET:
-                    Integer position = data.getInt("value");
-                    this.setCaret(position);
-                    break;                    
-                case SET_READ_ONLY:
-                    boolean value = data.getBoolean("value");
-                    edit.setInputType(value ? EditorInfo.TYPE_NULL : editInputType);
-                    edit.setLongClickable(!value);
-                    edit.setClickable(!value);
-                    edit.setCursorVisible(!value);
-                    break;
-                case SET_CONTENT_TYPE:
-                    String type = data.getString("type");
-                    this.setContentType(type);
-                    break;
-                case SET_RECT:
-                    this.SetRect(data);
-                    break;
-                case SET_FOCUS:
-                    boolean isFocus = data.getBoolean("is_focus");
-                    this.SetFocus(isFocus);
-                    break;
-                case SET_VISIBLE:
-                    boolean isVisible = data.getBoolean("is_visible");
-                    this.SetVisible(isVisible);
-                    break;
-                case SET_LANGUAGE:
-                    String code = data.getString("value");
-                    this.setKeyboardLanguage(code);
-                    break;
-                case ANDROID_KEY_DOWN:
-                    String strKey = data.getString("key");
-                    this.OnForceAndroidKeyDown(strKey);
-                    break;
+    private void processData(Command command) {
+        if (isShared && isProperty(command.type)) {
+            keepLatest(properties, command);
+            if (edit == null) {
+                return;
             }
-        } catch (JSONException e) {
-            Plugin.bridge.sendError("PROCESS_ERROR", e.getMessage());
+        } else if (isShared && edit == null && command.type == Command.SET_CARET) {
+            int position = Math.max(0, Math.min(command.start, sharedText.length()));
+            sharedSelectionStart = position;
+            sharedSelectionEnd = position;
+            publishState();
+            return;
+        } else if (isShared && edit == null && isDeferred(command.type)) {
+            keepLatest(pending, command);
+            return;
+        }
+        if (headless != null && !isHeadlessCommand(command.type)) {
+            return;
         }
+        applyCommand(command);
     }
 
     /**
-     * Set content type for input
+     * Put command to the end of list, remove previous command of same type
      *
-     * @param value Content type from component property
+     * @param list    List of commands
+     * @param command Command to keep
      */
-    void setContentType(String value) {
-        switch (value) {
-            case "Autocorrected":
-                editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES | InputType.TYPE_TEXT_FLAG_AUTO_CORRECT;
+    private static void keepLatest(ArrayList<Command> list, Command command) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i).type == command.type) {
+                list.remove(i);
+            }
+        }
+        list.add(command);
+    }
+
+    /**
+     * Apply command to native view
+     *
+     * @param command Command from Unity
+     */
+    private void applyCommand(Command command) {
+        switch (command.type) {
+            case Command.REMOVE:
+                this.Remove();
                 break;
-            case "IntegerNumber":
-                editInputType |= InputType.TYPE_CLASS_NUMBER;
+            case Command.SET_TEXT:
+                this.SetText(command.text, command.version);
                 break;
-            case "DecimalNumber":
-                editInputType |= InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL;
+            case Command.SET_TEXT_COLOR:
+                edit.setTextColor(command.color);
                 break;
-            case "Alphanumeric":
-                editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES;
+            case Command.SET_PTEXT_COLOR:
+                edit.setHintTextColor(command.color);
                 break;
-            case "Name":
-                editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PERSON_NAME;
+            case Command.SET_BG_COLOR:
+                edit.setBackgroundColor(command.color);
                 break;
-            case "EmailAddress":
-                editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
+            case Command.SET_CARET:
+                this.setCaret(command.start);
                 break;
-            case "Password":
-                editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD;
+            case Command.SET_READ_ONLY:
+                boolean value = command.flag;
+                if (headless != null) {
+                    headless.setReadOnly(value);
+                    publishState();
+                    break;
+                }
+                edit.setInputType(value ? EditorInfo.TYPE_NULL : editInputType);
+                edit.setLongClickable(!value);
+                edit.setClickable(!value);
+                edit.setCursorVisible(!value);
+                publishState();
                 break;
-            case "Pin":
-                editInputType |= InputType.TYPE_CLASS_PHONE;
+            case Command.SET_CONTENT_TYPE:
+                this.setContentType(command.text);
+                publishState();
                 break;
-            default:
-                editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS;
+            case Command.SET_RECT:
+                this.SetRect(command.x, command.y, command.width, command.height);
+                break;
+            case Command.SET_FOCUS:
+                this.SetFocus(command.flag);
+                break;
+            case Command.SET_VISIBLE:
+                this.SetVisible(command.flag);
+                break;
+            case Command.SET_LANGUAGE:
+                this.setKeyboardLanguage(command.text);
+                break;
+            case Command.ANDROID_KEY_DOWN:
+                this.OnForceAndroidKeyDown(command.text);
+                break;
+            case Command.EDIT_RANGE:
+                this.EditRange(command.start, command.end, command.text, command.version);
+                break;
+            case Command.SET_FILTERS:
+                this.setFilters(command.filters);
+                break;
+            case Command.APPLY_STYLE:
+                this.applyStyle(command.style);
+                publishState();
+                break;
+            case Command.SYNC_TEXT:
+                sendData(Event.obtain(Protocol.TEXT_CHANGE, id).put("text", GetText()).put("version", textVersion));
                 break;
         }
+    }
+
+    /**
+     * Set content type for input
+     *
+     * @param value Content type from component property
+     */
+    void setContentType(String value) {
+        editInputType = InputConfig.getContentType(editInputType, value);
+        if (headless != null) {
+            headless.setInputType(editInputType);
+        } else {
+            edit.setInputType(editInputType);
+        }
+    }
+
+    /**
+     * Apply registered style, all values are resolved already
+     *
+     * @param style Style to apply
+     */
+    private void applyStyle(InputStyle style) {
+        editInputType = style.inputType;
+        if (headless != null) {
+            headless.setInputType(editInputType);
+            headless.setImeOptions(style.imeOptions);
+            return;
+        }
+        caretColor = style.caretColor;
+        isCaretChange = style.isCaretChange;
+        edit.setSingleLine(!style.isMultiline);
         edit.setInputType(editInputType);
+        edit.setImeOptions(style.imeOptions);
+        edit.setGravity(style.gravity);
+        edit.setTextColor(style.textColor);
+        edit.setBackgroundColor(style.backColor);
+        edit.setHintTextColor(style.placeholderColor);
+        edit.setHighlightColor(style.highlightColor);
+        edit.setTypeface(style.getTypeface());
+        if (isCaretChange) {
+            setCaretColor(caretColor);
+        }
     }
 
     /**
      * Create new MobileInput
      *
-     * @param id   Input id
-     * @param data Config
+     * @param id     Input id
+     * @param config Decoded config
      */
-    private void Create(int id, JSONObject data) {
+    private void Create(int id, InputConfig config) {
         this.id = id;
-        try {
-            String placeHolder = data.getString("placeholder");
-            double fontSize = data.getDouble("font_size");
-            double x = data.getDouble("x") * (double) layout.getWidth();
-            double y = data.getDouble("y") * (double) layout.getHeight();
-            double width = data.getDouble("width") * (double) layout.getWidth();
-            double height = data.getDouble("height") * (double) layout.getHeight();
-            characterLimit = data.getInt("character_limit");
-            int textColor_r = (int) (255.0f * data.getDouble("text_color_r"));
-            int textColor_g = (int) (255.0f * data.getDouble("text_color_g"));
-            int textColor_b = (int) (255.0f * data.getDouble("text_color_b"));
-            int textColor_a = (int) (255.0f * data.getDouble("text_color_a"));
-            int backColor_r = (int) (255.0f * data.getDouble("back_color_r"));
-            int backColor_g = (int) (255.0f * data.getDouble("back_color_g"));
-            int backColor_b = (int) (255.0f * data.getDouble("back_color_b"));
-            int backColor_a = (int) (255.0f * data.getDouble("back_color_a"));
-            int placeHolderColor_r = (int) (255.0f * data.getDouble("placeholder_color_r"));
-            int placeHolderColor_g = (int) (255.0f * data.getDouble("placeholder_color_g"));
-            int placeHolderColor_b = (int) (255.0f * data.getDouble("placeholder_color_b"));
-            int placeHolderColor_a = (int) (255.0f * data.getDouble("placeholder_color_a"));
-            int caretColor_r = (int) (255.0f * data.getDouble("caret_color_r"));
-            int caretColor_g = (int) (255.0f * data.getDouble("caret_color_g"));
-            int caretColor_b = (int) (255.0f * data.getDouble("caret_color_b"));
-            int caretColor_a = (int) (255.0f * data.getDouble("caret_color_a"));
-            int highlightColor_r = (int) (255.0f * data.getDouble("highlight_color_r"));
-            int highlightColor_g = (int) (255.0f * data.getDouble("highlight_color_g"));
-            int highlightColor_b = (int) (255.0f * data.getDouble("highlight_color_b"));
-            int highlightColor_a = (int) (255.0f * data.getDouble("highlight_color_a"));
-            String contentType = data.getString("content_type");
-            String inputType = data.optString("input_type");
-            String keyboardType = data.optString("keyboard_type");
-            String keyboardLanguage = data.optString("keyboard_language");
-            String returnKeyType = data.getString("return_key_type");
-            String alignment = data.getString("align");
-            String customFont = data.getString("font");
-            boolean multiline = data.getBoolean("multiline");
-            caretColor = Color.argb(caretColor_a, caretColor_r, caretColor_g, caretColor_b);
-            isCaretChange = data.getBoolean("caret_color");
-            edit = new EditText(Plugin.activity.getApplicationContext());
-            edit.setSingleLine(!multiline);
-            edit.setId(this.id);
-            edit.setText("");
-            edit.setHint(placeHolder);
-            Rect rect = new Rect((int) x, (int) y, (int) (x + width), (int) (y + height));
-            LayoutParams params = new LayoutParams(rect.width(), rect.height());
-            params.setMargins(rect.left, rect.top, 0, 0);
-            edit.setLayoutParams(params);
-            edit.setPadding(0, 0, 0, 0);
-            editInputType = 0;
-            this.setContentType(contentType);
-            if (contentType.equals("Custom")) {
-                switch (keyboardType) {
-                    case "ASCIICapable":
-                        editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS;
-                        break;
-                    case "NumbersAndPunctuation":
-                        editInputType = InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL | InputType.TYPE_NUMBER_FLAG_SIGNED;
-                        break;
-                    case "URL":
-                        editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS | InputType.TYPE_TEXT_VARIATION_URI;
-                        break;
-                    case "NumberPad":
-                        editInputType = InputType.TYPE_CLASS_NUMBER;
-                        break;
-                    case "PhonePad":
-                        editInputType = InputType.TYPE_CLASS_PHONE;
-                        break;
-                    case "NamePhonePad":
-                        editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PERSON_NAME;
-                        break;
-                    case "EmailAddress":
-                        editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
-                        break;
-                    case "Social":
-                        editInputType = InputType.TYPE_TEXT_VARIATION_URI | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS;
-                        break;
-                    case "Search":
-                        editInputType = InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS | InputType.TYPE_NUMBER_FLAG_DECIMAL | InputType.TYPE_NUMBER_FLAG_SIGNED;
-                        break;
-                    default:
-                        editInputType = InputType.TYPE_CLASS_TEXT;
-                        break;
-                }
-                switch (inputType) {
-                    case "Standard":
-                        break;
-                    case "AutoCorrect":
-                        editInputType |= InputType.TYPE_TEXT_FLAG_AUTO_CORRECT;
-                        break;
-                    case "Password":
-                        if (!keyboardType.equals("NumbersAndPunctuation") && !keyboardType.equals("NumberPad") && !keyboardType.equals("PhonePad")) {
-                            editInputType |= InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD;
-                        } else {
-                            editInputType |= InputType.TYPE_NUMBER_VARIATION_PASSWORD;
-                        }
-                        break;
-                }
-            }
-            if (multiline) {
-                editInputType |= InputType.TYPE_TEXT_FLAG_MULTI_LINE | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES;
+        isShared = config.isShared && !config.isHeadless;
+        if (config.isHeadless) {
+            AttachHeadless(config);
+        } else if (isShared) {
+            this.config = config;
+            normalX = config.x;
+            normalY = config.y;
+            normalWidth = config.width;
+            normalHeight = config.height;
+        } else {
+            Attach(config);
+        }
+        publishState();
+        states.put(id, state);
+        sendData(Event.obtain(Protocol.READY, id));
+    }
+
+    /**
+     * Build native view from config and add it to layout
+     *
+     * @param config Decoded config
+     */
+    private void Attach(InputConfig config) {
+        normalX = config.x;
+        normalY = config.y;
+        normalWidth = config.width;
+        normalHeight = config.height;
+        double x = normalX * (double) layout.getWidth();
+        double y = normalY * (double) layout.getHeight();
+        double width = normalWidth * (double) layout.getWidth();
+        double height = normalHeight * (double) layout.getHeight();
+        isTextDelta = config.isTextDelta;
+        textChangeMode = config.textChangeMode;
+        textChangeInterval = config.textChangeInterval;
+        caretColor = config.style.caretColor;
+        isCaretChange = config.style.isCaretChange;
+        edit = InputEdit.obtain(Plugin.activity.getApplicationContext());
+        edit.setSingleLine(!config.style.isMultiline);
+        edit.setId(this.id);
+        edit.setText("");
+        edit.setHint(config.placeholder);
+        Rect rect = new Rect((int) x, (int) y, (int) (x + width), (int) (y + height));
+        LayoutParams params = new LayoutParams(rect.width(), rect.height());
+        params.setMargins(rect.left, rect.top, 0, 0);
+        edit.setLayoutParams(params);
+        edit.setPadding(0, 0, 0, 0);
+        this.setFilters(config.filters);
+        editInputType = config.style.inputType;
+        edit.setInputType(editInputType);
+        edit.setImeOptions(config.style.imeOptions);
+        edit.setGravity(config.style.gravity);
+        edit.setTextSize(TypedValue.COMPLEX_UNIT_PX, config.fontSize);
+        edit.setTextColor(config.style.textColor);
+        edit.setBackgroundColor(config.style.backColor);
+        edit.setHintTextColor(config.style.placeholderColor);
+        edit.setHighlightColor(config.style.highlightColor);
+        edit.setTypeface(config.style.getTypeface());
+        if (!config.keyboardLanguage.equals("default")) {
+            setKeyboardLanguage(config.keyboardLanguage);
+        }
+        edit.setOnFocusChangeListener((v, isFocus) -> onFocusChange(isFocus));
+        edit.setSelectionListener((start, end) -> publishState());
+        edit.addTextChangedListener(textWatcher);
+        edit.setOnEditorActionListener((v, actionId, event) -> onEditorAction(actionId));
+        ViewGroup container = config.group.isEmpty() ? layout : getGroup(config.group);
+        container.addView(edit);
+    }
+
+    /**
+     * Create headless input, IME edits text directly, nothing is drawn and rect is not synced
+     *
+     * @param config Decoded config
+     */
+    private void AttachHeadless(InputConfig config) {
+        normalX = config.x;
+        normalY = config.y;
+        normalWidth = config.width;
+        normalHeight = config.height;
+        isTextDelta = config.isTextDelta;
+        textChangeMode = config.textChangeMode;
+        textChangeInterval = config.textChangeInterval;
+        headless = new HeadlessInput(Plugin.activity.getApplicationContext());
+        headless.setId(this.id);
+        headless.setLayoutParams(new LayoutParams(1, 1));
+        this.setFilters(config.filters);
+        editInputType = config.style.inputType;
+        headless.setInputType(editInputType);
+        headless.setImeOptions(config.style.imeOptions);
+        headless.setOnFocusChangeListener((v, isFocus) -> onFocusChange(isFocus));
+        headless.setSelectionListener(this::onHeadlessSelection);
+        headless.addTextChangedListener(textWatcher);
+        headless.setActionListener(this::onEditorAction);
+        layout.addView(headless);
+    }
+
+    /**
+     * Publish selection of headless input and send it to Unity, TMP draws caret and selection
+     *
+     * @param start Selection start
+     * @param end   Selection end
+     */
+    private void onHeadlessSelection(int start, int end) {
+        publishState();
+        sendData(Event.obtain(Protocol.SELECTION, id).put("start", start).put("end", end));
+    }
+
+    /**
+     * Get view that has focus and keyboard
+     *
+     * @return Edit, headless view or null
+     */
+    private View getView() {
+        return (headless != null) ? headless : edit;
+    }
+
+    /**
+     * Get current input type
+     *
+     * @return Input type
+     */
+    private int getInputType() {
+        return (headless != null) ? headless.getInputType() : edit.getInputType();
+    }
+
+    /**
+     * Send focus events
+     *
+     * @param isFocus Focus state
+     */
+    private void onFocusChange(boolean isFocus) {
+        if (!isFocus) {
+            flushTextChange();
+            sendData(Event.obtain(Protocol.TEXT_END_EDIT, id).put("text", GetText()).put("version", textVersion));
+        }
+        this.SetFocus(isFocus);
+        publishState();
+        if (isFocus) {
+            int inputType = getInputType();
+            Plugin.keyboardInputType = inputType;
+            sendData(Event.obtain(Protocol.ON_FOCUS, id).put("keyboard", Plugin.keyboardCache.predict(Plugin.orientation, inputType)));
+        } else {
+            sendData(Event.obtain(Protocol.ON_UNFOCUS, id));
+            if (isShared) {
+                layout.post(this::DetachShared);
             }
-            edit.setInputType(editInputType);
-            int gravity = 0;
-            switch (alignment) {
-                case "TopLeft":
-                    gravity = Gravity.TOP | Gravity.LEFT;
-                    break;
-                case "Top":
-                    gravity = Gravity.TOP | Gravity.CENTER_HORIZONTAL;
-                    break;
-                case "TopRight":
-                    gravity = Gravity.TOP | Gravity.RIGHT;
-                    break;
-                case "Left":
-                    gravity = Gravity.CENTER_VERTICAL | Gravity.LEFT;
-                    break;
-                case "Center":
-                    gravity = Gravity.CENTER_VERTICAL | Gravity.CENTER_HORIZONTAL;
-                    break;
-                case "Right":
-                    gravity = Gravity.CENTER_VERTICAL | Gravity.RIGHT;
-                    break;
-                case "BottomLeft":
-                    gravity = Gravity.BOTTOM | Gravity.LEFT;
-                    break;
-                case "Bottom":
-                    gravity = Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL;
-                    break;
-                case "BottomRight":
-                    gravity = Gravity.BOTTOM | Gravity.RIGHT;
-                    break;
+        }
+    }
+
+    /**
+     * Send return event on IME action
+     *
+     * @param actionId Action
+     * @return True if handled
+     */
+    private boolean onEditorAction(int actionId) {
+        if ((actionId == EditorInfo.IME_ACTION_DONE) || (actionId == EditorInfo.IME_ACTION_NEXT) || (actionId == EditorInfo.IME_ACTION_SEARCH) || (actionId == EditorInfo.IME_ACTION_SEND)) {
+            flushTextChange();
+            sendData(Event.obtain(Protocol.RETURN_PRESSED, id));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Text watcher, counts each user change in text version and sends changes by current policy
+     */
+    private final TextWatcher textWatcher = new TextWatcher() {
+        public void afterTextChanged(Editable s) {
+            if (!isTextDelta && !isSilentChange) {
+                scheduleTextChange();
             }
-            int imeOptions = EditorInfo.IME_FLAG_NO_EXTRACT_UI;
-            switch (returnKeyType) {
-                case "Next":
-                    imeOptions |= EditorInfo.IME_ACTION_NEXT;
-                    break;
-                case "Done":
-                    imeOptions |= EditorInfo.IME_ACTION_DONE;
-                    break;
-                case "Search":
-                    imeOptions |= EditorInfo.IME_ACTION_SEARCH;
-                    break;
-                case "Send":
-                    imeOptions |= EditorInfo.IME_ACTION_SEND;
-                    break;
+            publishState();
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            // Auto-generated method stub
+
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+            if (isSilentChange) {
+                return;
             }
-            edit.setImeOptions(imeOptions);
-            edit.setGravity(gravity);
-            edit.setTextSize(TypedValue.COMPLEX_UNIT_PX, (float) fontSize);
-            edit.setTextColor(Color.argb(textColor_a, textColor_r, textColor_g, textColor_b));
-            edit.setBackgroundColor(Color.argb(backColor_a, backColor_r, backColor_g, backColor_b));
-            edit.setHintTextColor(Color.argb(placeHolderColor_a, placeHolderColor_r, placeHolderColor_g, placeHolderColor_b));
-            edit.setHighlightColor(Color.argb(highlightColor_a, highlightColor_r, highlightColor_g, highlightColor_b));
-            if (!customFont.equals("default")) {
-                try {
-                    Typeface face = Typeface.createFromAsset(Plugin.activity.getAssets(), String.format("%s.ttf", customFont));
-                    edit.setTypeface(face);
-                } catch (Exception e) {
-                    edit.setTypeface(Typeface.SANS_SERIF);
-                }
-            } else {
-                edit.setTypeface(Typeface.SANS_SERIF);
+            textVersion++;
+            if (!isTextDelta) {
+                return;
             }
-            if (!keyboardLanguage.equals("default")) {
-                setKeyboardLanguage(keyboardLanguage);
+            if (textChangeMode != CHANGE_IMMEDIATE) {
+                scheduleTextChange();
+                return;
             }
-            final MobileInput input = this;
-            edit.setOnFocusChangeListener((v, isFocus) -> {
-                if (!isFocus) {
-                    JSONObject editData = new JSONObject();
-                    try {
-                        editData.put("msg", TEXT_END_EDIT);
-                        editData.put("text", input.GetText());
-                    } catch (JSONException e) {
-                        if (Plugin.bridge.isDebug) {
-                            Log.e("[UMI]", String.format("create focus error: %s", e));
-                        }
-                    }
-                    sendData(editData);
-                }
-                this.SetFocus(isFocus);
-                JSONObject focusData = new JSONObject();
-                try {
-                    focusData.put("msg", (isFocus) ? ON_FOCUS : ON_UNFOCUS);
-                } catch (JSONException e) {
-                    if (Plugin.bridge.isDebug) {
-                        Log.e("[UMI]", String.format("create set focus error: %s", e));
-                    }
-                }
-                sendData(focusData);
-            });
-            edit.addTextChangedListener(new TextWatcher() {
-                public void afterTextChanged(Editable s) {
-                    JSONObject data = new JSONObject();
-                    if (characterLimit > 0 && s.length() >= characterLimit + 1) {
-                        s.delete(s.length() - 1, s.length());
-                        edit.setText(s);
-                        edit.setSelection(s.length());
-                    }
-                    try {
-                        data.put("msg", TEXT_CHANGE);
-                        data.put("text", s.toString());
-                    } catch (JSONException e) {
-                        if (Plugin.bridge.isDebug) {
-                            Log.e("[UMI]", String.format("create change error: %s", e));
-                        }
-                    }
-                    sendData(data);
-                }
+            String inserted = s.subSequence(start, start + count).toString();
+            sendData(Event.obtain(Protocol.TEXT_DELTA, id).put("start", start).put("before", before).put("text", inserted).put("version", textVersion));
+        }
+    };
 
-                @Override
-                public void beforeTextChanged(CharSequence s, int start, int count, int after) {
-                    // Auto-generated method stub
+    /**
+     * Check if command is applied to headless input, other commands change look of text
+     *
+     * @param type Command type
+     * @return True if command is applied
+     */
+    private static boolean isHeadlessCommand(int type) {
+        switch (type) {
+            case Command.SET_CARET:
+            case Command.SET_READ_ONLY:
+            case Command.SET_CONTENT_TYPE:
+            case Command.SET_FILTERS:
+            case Command.ANDROID_KEY_DOWN:
+            case Command.APPLY_STYLE:
+                return true;
+            default:
+                return !isDeferred(type);
+        }
+    }
 
-                }
+    /**
+     * Check if command changes property of native view, shared input keeps it to apply after each attach
+     *
+     * @param type Command type
+     * @return True if command is property
+     */
+    private static boolean isProperty(int type) {
+        switch (type) {
+            case Command.SET_TEXT_COLOR:
+            case Command.SET_PTEXT_COLOR:
+            case Command.SET_BG_COLOR:
+            case Command.SET_READ_ONLY:
+            case Command.SET_CONTENT_TYPE:
+            case Command.SET_LANGUAGE:
+            case Command.SET_FILTERS:
+            case Command.APPLY_STYLE:
+                return true;
+            default:
+                return false;
+        }
+    }
 
-                @Override
-                public void onTextChanged(CharSequence s, int start, int before, int count) {
-                    // Auto-generated method stub
-                }
-            });
-            edit.setOnEditorActionListener((v, actionId, event) -> {
-                if ((actionId == EditorInfo.IME_ACTION_DONE) || (actionId == EditorInfo.IME_ACTION_NEXT) || (actionId == EditorInfo.IME_ACTION_SEARCH) || (actionId == EditorInfo.IME_ACTION_SEND)) {
-                    JSONObject returnData = new JSONObject();
-                    try {
-                        returnData.put("msg", RETURN_PRESSED);
-                    } catch (JSONException e) {
-                        if (Plugin.bridge.isDebug) {
-                            Log.e("[UMI]", String.format("create editor error: %s", e));
-                        }
-                    }
-                    sendData(returnData);
-                    return true;
-                }
+    /**
+     * Check if command needs native view and must wait for it in shared mode
+     *
+     * @param type Command type
+     * @return True if command is deferred
+     */
+    private static boolean isDeferred(int type) {
+        switch (type) {
+            case Command.REMOVE:
+            case Command.SET_TEXT:
+            case Command.SET_RECT:
+            case Command.SET_FOCUS:
+            case Command.SET_VISIBLE:
+            case Command.EDIT_RANGE:
+            case Command.SYNC_TEXT:
                 return false;
-            });
+            default:
+                return true;
+        }
+    }
 
-            layout.addView(edit);
-            data = new JSONObject();
-            try {
-                data.put("msg", READY);
-            } catch (JSONException e) {
-                if (Plugin.bridge.isDebug) {
-                    Log.e("[UMI]", String.format("create ready error: %s", e));
+    /**
+     * Take native view for shared input, restore text, selection, properties and deferred commands
+     */
+    private void AttachShared() {
+        if (!isShared || edit != null) {
+            return;
+        }
+        float x = normalX;
+        float y = normalY;
+        float width = normalWidth;
+        float height = normalHeight;
+        Attach(config);
+        normalX = x;
+        normalY = y;
+        normalWidth = width;
+        normalHeight = height;
+        LayoutParams params = (LayoutParams) edit.getLayoutParams();
+        applyRect(params, layout.getWidth(), layout.getHeight());
+        edit.setLayoutParams(params);
+        boolean isFiltered = putText(sharedText);
+        for (int i = 0; i < properties.size(); i++) {
+            applyCommand(properties.get(i));
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            applyCommand(pending.get(i));
+        }
+        pending.clear();
+        int length = edit.getText().length();
+        edit.setSelection(Math.min(sharedSelectionStart, length), Math.min(sharedSelectionEnd, length));
+        sendTextIfDiffers(false, isFiltered);
+        SetVisible(isVisible);
+    }
+
+    /**
+     * Save text and selection of shared input and release native view
+     */
+    private void DetachShared() {
+        if (!isShared || edit == null || edit.isFocused()) {
+            return;
+        }
+        sharedText = GetText();
+        sharedSelectionStart = edit.getSelectionStart();
+        sharedSelectionEnd = edit.getSelectionEnd();
+        edit.removeCallbacks(textChangeRunnable);
+        ViewGroup container = (ViewGroup) edit.getParent();
+        if (container != null) {
+            container.removeView(edit);
+        }
+        edit.recycle();
+        edit = null;
+        publishState();
+    }
+
+    /**
+     * Set filters chain, rejected input never gets to text
+     *
+     * @param filters Filters chain, null if config has errors
+     */
+    private void setFilters(InputFilter[] filters) {
+        if (filters == null) {
+            return;
+        }
+        if (headless != null) {
+            headless.setFilters(filters);
+        } else {
+            edit.setFilters(filters);
+        }
+    }
+
+    /**
+     * Get policy to send TEXT_CHANGE
+     *
+     * @param value Policy name from config
+     * @return Policy
+     */
+    static int getTextChangeMode(String value) {
+        switch (value) {
+            case "Throttle":
+                return CHANGE_THROTTLE;
+            case "Debounce":
+                return CHANGE_DEBOUNCE;
+            case "EndEdit":
+                return CHANGE_END_EDIT;
+            default:
+                return CHANGE_IMMEDIATE;
+        }
+    }
+
+    /**
+     * Mark text as changed and send it according to policy
+     */
+    private void scheduleTextChange() {
+        isTextChangePending = true;
+        switch (textChangeMode) {
+            case CHANGE_THROTTLE:
+                long elapsed = SystemClock.uptimeMillis() - lastTextChangeTime;
+                if (elapsed >= textChangeInterval) {
+                    flushTextChange();
+                } else {
+                    getView().removeCallbacks(textChangeRunnable);
+                    getView().postDelayed(textChangeRunnable, textChangeInterval - elapsed);
                 }
-            }
-            sendData(data);
-        } catch (JSONException e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("create error: %s", e));
-            }
-            Plugin.bridge.sendError("CREATE_ERROR", e.getMessage());
+                break;
+            case CHANGE_DEBOUNCE:
+                getView().removeCallbacks(textChangeRunnable);
+                getView().postDelayed(textChangeRunnable, textChangeInterval);
+                break;
+            case CHANGE_END_EDIT:
+                break;
+            default:
+                flushTextChange();
+                break;
         }
     }
 
+    /**
+     * Send pending text change with full text
+     */
+    private void flushTextChange() {
+        View view = getView();
+        if (view != null) {
+            view.removeCallbacks(textChangeRunnable);
+        }
+        if (!isTextChangePending) {
+            return;
+        }
+        isTextChangePending = false;
+        lastTextChangeTime = SystemClock.uptimeMillis();
+        sendData(Event.obtain(Protocol.TEXT_CHANGE, id).put("text", GetText()).put("version", textVersion));
+    }
+
     /***
      * Set cursor/caret/handles color
      *
@@ -651,6 +990,10 @@ public class MobileInput {
      * @param position Position in string
      */
     private void setCaret(Integer position) {
+        if (headless != null) {
+            headless.setSelection(position, position);
+            return;
+        }
         int length = edit.getText().length();
         if (position < 0) {
             position = 0;
@@ -664,8 +1007,19 @@ public class MobileInput {
      * Remove MobileInput
      */
     private void Remove() {
+        states.remove(id, state);
+        if (headless != null) {
+            headless.removeCallbacks(textChangeRunnable);
+            layout.removeView(headless);
+            headless = null;
+        }
         if (edit != null) {
-            layout.removeView(edit);
+            edit.removeCallbacks(textChangeRunnable);
+            ViewGroup container = (ViewGroup) edit.getParent();
+            if (container != null) {
+                container.removeView(edit);
+            }
+            edit.recycle();
         }
         edit = null;
     }
@@ -674,12 +1028,116 @@ public class MobileInput {
      * Set new text
      *
      * @param newText Text for input
+     * @param version Text version from Unity
      */
-    private void SetText(String newText) {
-        if (edit != null) {
+    private void SetText(String newText, int version) {
+        boolean isConflict = advanceTextVersion(version);
+        boolean isFiltered;
+        if (edit == null && isShared) {
+            sharedText = newText;
+            sharedSelectionStart = newText.length();
+            sharedSelectionEnd = newText.length();
+            publishState();
+            isFiltered = false;
+        } else {
+            isFiltered = putText(newText);
+        }
+        sendTextIfDiffers(isConflict, isFiltered);
+    }
+
+    /**
+     * Replace all text without sending it back, caret goes to the end
+     *
+     * @param newText Text for input
+     * @return True if filters changed text
+     */
+    private boolean putText(String newText) {
+        View view = getView();
+        if (view == null) {
+            return false;
+        }
+        isTextChangePending = false;
+        view.removeCallbacks(textChangeRunnable);
+        isSilentChange = true;
+        if (headless != null) {
+            headless.setText(newText);
+        } else {
             edit.setText(newText);
             edit.setSelection(edit.getText().length());
         }
+        isSilentChange = false;
+        return !GetText().equals(newText);
+    }
+
+    /**
+     * Replace part of text without touching the rest, selection is kept
+     *
+     * @param start   Range start
+     * @param end     Range end
+     * @param text    Text to insert instead of range
+     * @param version Text version from Unity
+     */
+    private void EditRange(int start, int end, String text, int version) {
+        if (edit == null && !isShared && headless == null) {
+            return;
+        }
+        boolean isConflict = advanceTextVersion(version);
+        boolean isFiltered = false;
+        if (edit == null && isShared) {
+            int length = sharedText.length();
+            start = Math.max(0, Math.min(start, length));
+            end = Math.max(start, Math.min(end, length));
+            sharedText = sharedText.substring(0, start) + text + sharedText.substring(end);
+            publishState();
+        } else {
+            Editable editable = (headless != null) ? headless.getText() : edit.getText();
+            int length = editable.length();
+            start = Math.max(0, Math.min(start, length));
+            end = Math.max(start, Math.min(end, length));
+            isTextChangePending = false;
+            getView().removeCallbacks(textChangeRunnable);
+            isSilentChange = true;
+            if (headless != null) {
+                editable.replace(start, end, text);
+            } else {
+                edit.beginBatchEdit();
+                editable.replace(start, end, text);
+                edit.endBatchEdit();
+            }
+            isSilentChange = false;
+            int inserted = editable.length() - length + end - start;
+            isFiltered = inserted != text.length() || !TextUtils.regionMatches(editable, start, text, 0, inserted);
+        }
+        sendTextIfDiffers(isConflict, isFiltered);
+    }
+
+    /**
+     * Send full text if Unity has another text: user changed it before or filters changed text from Unity
+     * Filtered text gets new version, so Unity replaces own text with it
+     *
+     * @param isConflict True if Unity has not seen latest user changes
+     * @param isFiltered True if filters changed text from Unity
+     */
+    private void sendTextIfDiffers(boolean isConflict, boolean isFiltered) {
+        if (isFiltered) {
+            textVersion++;
+        }
+        if (isConflict || isFiltered) {
+            sendData(Event.obtain(Protocol.TEXT_CHANGE, id).put("text", GetText()).put("version", textVersion));
+        }
+    }
+
+    /**
+     * Move text version forward for change made by Unity, both sides get same version
+     * If user changed text after version known to Unity, native version stays ahead and full text must be sent
+     *
+     * @param version Version from Unity, 0 if unknown
+     * @return True if Unity has not seen latest user changes
+     */
+    private boolean advanceTextVersion(int version) {
+        boolean isConflict = textVersion >= version;
+        textVersion = Math.max(textVersion + 1, version);
+        return isConflict;
     }
 
     /**
@@ -688,8 +1146,12 @@ public class MobileInput {
      * @return Text in input
      */
     private String GetText() {
-        if (edit != null) {
+        if (headless != null) {
+            return headless.getText().toString();
+        } else if (edit != null) {
             return edit.getText().toString();
+        } else if (isShared) {
+            return sharedText;
         } else {
             return "";
         }
@@ -701,8 +1163,9 @@ public class MobileInput {
      * @return Input focus state
      */
     private boolean isFocused() {
-        if (edit != null) {
-            return edit.isFocused();
+        View view = getView();
+        if (view != null) {
+            return view.isFocused();
         } else {
             return false;
         }
@@ -714,10 +1177,18 @@ public class MobileInput {
      * @param isFocus State for input
      */
     private void SetFocus(boolean isFocus) {
-        if (edit == null) {
-            return;
-        }
         if (isFocus) {
+            AttachShared();
+        }
+        if (headless != null) {
+            if (isFocus) {
+                headless.requestFocus();
+            } else {
+                headless.clearFocus();
+            }
+        } else if (edit == null) {
+            return;
+        } else if (isFocus) {
             edit.requestFocus();
             if (isCaretChange) {
                 setCaretColor(caretColor);
@@ -742,22 +1213,120 @@ public class MobileInput {
     /**
      * Set new position and size
      *
-     * @param data Position/size data
-     */
-    private void SetRect(JSONObject data) {
-        try {
-            double x = data.getDouble("x") * (double) layout.getWidth();
-            double y = data.getDouble("y") * (double) layout.getHeight();
-            double width = data.getDouble("width") * (double) layout.getWidth();
-            double height = data.getDouble("height") * (double) layout.getHeight();
-            Rect rect = new Rect((int) x, (int) y, (int) (x + width), (int) (y + height));
-            LayoutParams params = new LayoutParams(rect.width(), rect.height());
-            params.setMargins(rect.left, rect.top, 0, 0);
+     * @param normalX      Normalized x
+     * @param normalY      Normalized y
+     * @param normalWidth  Normalized width
+     * @param normalHeight Normalized height
+     */
+    private void SetRect(double normalX, double normalY, double normalWidth, double normalHeight) {
+        this.normalX = (float) normalX;
+        this.normalY = (float) normalY;
+        this.normalWidth = (float) normalWidth;
+        this.normalHeight = (float) normalHeight;
+        if (edit == null) {
+            publishState();
+            return;
+        }
+        LayoutParams params = (LayoutParams) edit.getLayoutParams();
+        double x = normalX * (double) layout.getWidth();
+        double y = normalY * (double) layout.getHeight();
+        double width = normalWidth * (double) layout.getWidth();
+        double height = normalHeight * (double) layout.getHeight();
+        int left = (int) x;
+        int top = (int) y;
+        if (params.width == (int) (x + width) - left && params.height == (int) (y + height) - top) {
+            edit.setTranslationX(left - params.leftMargin);
+            edit.setTranslationY(top - params.topMargin);
+        } else {
+            applyRect(params, layout.getWidth(), layout.getHeight());
             edit.setLayoutParams(params);
-        } catch (Exception e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("set rect error: %s", e));
+        }
+        publishState();
+    }
+
+    /**
+     * Get group container, create if not exists
+     *
+     * @param name Group name
+     * @return Group container
+     */
+    private static InputGroup getGroup(String name) {
+        InputGroup group = groups.get(name);
+        if (group == null) {
+            group = new InputGroup(Plugin.activity);
+            Plugin.layout.addView(group, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+            groups.put(name, group);
+        }
+        return group;
+    }
+
+    /**
+     * Get key of group for command queue, safe to call from any thread
+     *
+     * @param name Group name
+     * @return Group key
+     */
+    static int getGroupKey(String name) {
+        return groupKeys.computeIfAbsent(name, key -> groupCounter.incrementAndGet());
+    }
+
+    /**
+     * Move all inputs of group by translation
+     *
+     * @param name Group name
+     * @param x    Normalized x offset
+     * @param y    Normalized y offset
+     */
+    static void setGroupOffset(String name, float x, float y) {
+        getGroup(name).setOffset(x, y, Plugin.layout.getWidth(), Plugin.layout.getHeight());
+    }
+
+    /**
+     * Forget group containers of previous layout
+     */
+    static void clearGroups() {
+        groups.clear();
+    }
+
+    /**
+     * Convert stored normalized rect to pixels of layout, clear translation
+     *
+     * @param params       Params to update
+     * @param layoutWidth  Layout width
+     * @param layoutHeight Layout height
+     */
+    private void applyRect(LayoutParams params, int layoutWidth, int layoutHeight) {
+        edit.setTranslationX(0);
+        edit.setTranslationY(0);
+        double x = normalX * (double) layoutWidth;
+        double y = normalY * (double) layoutHeight;
+        double width = normalWidth * (double) layoutWidth;
+        double height = normalHeight * (double) layoutHeight;
+        params.width = (int) (x + width) - (int) x;
+        params.height = (int) (y + height) - (int) y;
+        params.setMargins((int) x, (int) y, 0, 0);
+    }
+
+    /**
+     * Move all inputs to new layout size, without waiting for Unity
+     * Called while layout is measured, so params are changed in place
+     *
+     * @param width  New layout width
+     * @param height New layout height
+     */
+    static void relayout(int width, int height) {
+        for (InputGroup group : groups.values()) {
+            group.applyOffset(width, height);
+        }
+        if (mobileInputList == null) {
+            return;
+        }
+        for (int i = 0; i < mobileInputList.size(); i++) {
+            MobileInput input = mobileInputList.valueAt(i);
+            if (input.edit == null || !(input.edit.getLayoutParams() instanceof LayoutParams)) {
+                continue;
             }
+            input.applyRect((LayoutParams) input.edit.getLayoutParams(), width, height);
         }
     }
 
@@ -767,7 +1336,9 @@ public class MobileInput {
      * @param isVisible Visible flag
      */
     private void SetVisible(boolean isVisible) {
+        this.isVisible = isVisible;
         if (edit == null) {
+            publishState();
             return;
         }
         edit.setVisibility(isVisible ? View.VISIBLE : View.INVISIBLE);
@@ -775,6 +1346,7 @@ public class MobileInput {
             edit.bringToFront();
         }
         edit.setEnabled(isVisible);
+        publishState();
     }
 
     /**
@@ -814,7 +1386,7 @@ public class MobileInput {
         }
         if (keyCode > 0) {
             KeyEvent ke = new KeyEvent(KeyEvent.ACTION_DOWN, keyCode);
-            edit.onKeyDown(keyCode, ke);
+            getView().onKeyDown(keyCode, ke);
         }
     }
 
@@ -826,29 +1398,23 @@ public class MobileInput {
     private void showKeyboard(boolean isShow) {
         InputMethodManager imm = (InputMethodManager) Plugin.activity.getSystemService(Context.INPUT_METHOD_SERVICE);
         View rootView = Plugin.activity.getWindow().getDecorView();
+        View view = getView();
         if (isShow) {
-            imm.showSoftInput(edit, InputMethodManager.SHOW_FORCED);
+            imm.showSoftInput(view, InputMethodManager.SHOW_FORCED);
         } else {
-            edit.clearFocus();
+            view.clearFocus();
             rootView.clearFocus();
-            imm.hideSoftInputFromWindow(edit.getWindowToken(), 0);
+            imm.hideSoftInputFromWindow(view.getWindowToken(), 0);
         }
     }
 
     /**
      * Wrapper to send data to Unity app
      *
-     * @param data Input id
+     * @param event Event for current input
      */
-    private void sendData(JSONObject data) {
-        try {
-            data.put("id", this.id);
-        } catch (JSONException e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("send data error: %s", e));
-            }
-        }
-        Plugin.bridge.sendData(data.toString());
+    private void sendData(Event event) {
+        Plugin.bridge.send(event);
     }
 
 }
@@ -1,10 +1,6 @@
 package com.mopsicus.umi;
 
 import android.content.res.Configuration;
-import android.util.Log;
-
-import org.json.JSONException;
-import org.json.JSONObject;
 
 public class OrientationListener implements OrientationObserver {
 
@@ -15,17 +11,9 @@ public class OrientationListener implements OrientationObserver {
      */
     @Override
     public void onOrientationChanged(int orientation) {
+        Plugin.orientation = orientation;
         String current = (orientation == Configuration.ORIENTATION_PORTRAIT) ? "PORTRAIT" : "LANDSCAPE";
-        JSONObject json = new JSONObject();
-        try {
-            json.put("action", "ORIENTATION");
-            json.put("orientation", current);
-        } catch (JSONException e) {
-            if (Plugin.bridge.isDebug) {
-                Log.e("[UMI]", String.format("orientation change error: %s", e));
-            }
-        }
-        Plugin.bridge.sendData(json.toString());
+        Plugin.bridge.send(Event.obtain(Protocol.ORIENTATION, Protocol.GLOBAL).put("orientation", current));
     }
 
 }
@@ -2,6 +2,8 @@ package com.mopsicus.umi;
 
 import android.annotation.SuppressLint;
 import android.app.Activity;
+import android.content.res.Configuration;
+import android.os.Build;
 import android.provider.Settings;
 import android.util.Log;
 import android.view.View;
@@ -11,6 +13,7 @@ import android.widget.RelativeLayout.LayoutParams;
 
 import com.unity3d.player.UnityPlayer;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -39,7 +42,33 @@ public class Plugin {
      * Keyboard provider for receive show/hide events
      */
     @SuppressLint("StaticFieldLeak")
-    private static KeyboardProvider keyboardProvider;
+    private static KeyboardTracker keyboardProvider;
+
+    /**
+     * Use insets animation to track keyboard frames, if supported
+     */
+    private static boolean isKeyboardAnimation = false;
+
+    /**
+     * Max keyboard animation frames per second, 0 for each frame
+     */
+    private static int keyboardFrameRate = 0;
+
+    /**
+     * Count of inputs to create in advance
+     */
+    private static int prewarmCount = 0;
+
+    /**
+     * Fonts to load in advance
+     */
+    private static String[] preloadFonts = new String[0];
+
+    /**
+     * Cached screen metrics
+     */
+    @SuppressLint("StaticFieldLeak")
+    private static MetricsProvider metricsProvider;
 
     /**
      * Keyboard lister class to send to Unity
@@ -56,6 +85,31 @@ public class Plugin {
      */
     public static Bridge bridge;
 
+    /**
+     * Queue for commands to run on UI thread
+     */
+    private static final CommandQueue commands = new CommandQueue();
+
+    /**
+     * Latest keyboard height, readable from any thread
+     */
+    static volatile int keyboardHeight = 0;
+
+    /**
+     * Latest screen orientation, readable from any thread
+     */
+    static volatile int orientation = Configuration.ORIENTATION_UNDEFINED;
+
+    /**
+     * Input type of last focused input, to save keyboard height for it
+     */
+    static volatile int keyboardInputType = 0;
+
+    /**
+     * Observed keyboard heights to predict height before keyboard appears
+     */
+    static KeyboardHeightCache keyboardCache;
+
     /**
      * Get view recursive
      *
@@ -84,17 +138,36 @@ public class Plugin {
      */
     @SuppressWarnings("unused")
     public static void init(final String data) {
+        if (bridge != null) {
+            bridge.stop();
+        }
         bridge = new Bridge();
         try {
             JSONObject json = new JSONObject(data);
             String object = json.getString("object");
             String receiver = json.getString("receiver");
             boolean isDebug = json.getBoolean("debug");
-            bridge.initialize(object, receiver, isDebug);
+            int protocol = json.optInt("protocol", Protocol.JSON);
+            boolean isBatching = json.optBoolean("batch", false);
+            int batchInterval = json.optInt("batch_interval", 0);
+            bridge.initialize(object, receiver, isDebug, protocol, isBatching, batchInterval);
+            isKeyboardAnimation = json.optString("keyboard").equals("insets");
+            keyboardFrameRate = json.optInt("keyboard_fps", 0);
+            prewarmCount = json.optInt("prewarm", 0);
+            JSONArray fonts = json.optJSONArray("fonts");
+            preloadFonts = new String[(fonts == null) ? 0 : fonts.length()];
+            for (int i = 0; i < preloadFonts.length; i++) {
+                preloadFonts[i] = fonts.getString(i);
+            }
         } catch (JSONException e) {
             Log.e("[UMI]", String.format("init error: %s", e));
         }
         activity = UnityPlayer.currentActivity;
+        if (keyboardCache != null) {
+            keyboardCache.release();
+        }
+        keyboardCache = new KeyboardHeightCache(activity);
+        FontCache.preload(activity, preloadFonts);
         activity.runOnUiThread(() -> {
             if (layout != null) {
                 group.removeView(layout);
@@ -102,12 +175,25 @@ public class Plugin {
             ViewGroup rootView = activity.findViewById(android.R.id.content);
             View topMostView = getLeafView(rootView);
             group = (ViewGroup) topMostView.getParent();
-            layout = new RelativeLayout(activity);
+            MobileInput.clearGroups();
+            InputLayout inputLayout = new InputLayout(activity);
+            inputLayout.setResizeListener(MobileInput::relayout);
+            layout = inputLayout;
             LayoutParams params = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
             group.addView(layout, params);
+            metricsProvider = new MetricsProvider(activity, layout);
+            layout.post(metricsProvider::update);
+            orientation = activity.getResources().getConfiguration().orientation;
             orientationListener = new OrientationListener();
             keyboardListener = new KeyboardListener();
-            keyboardProvider = new KeyboardProvider(activity, group, keyboardListener, orientationListener);
+            if (prewarmCount > 0) {
+                layout.post(() -> InputEdit.prewarm(activity.getApplicationContext(), prewarmCount));
+            }
+            if (isKeyboardAnimation && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                keyboardProvider = new KeyboardAnimationProvider(activity, keyboardListener, keyboardListener, orientationListener, keyboardFrameRate);
+            } else {
+                keyboardProvider = new KeyboardProvider(activity, group, keyboardListener, orientationListener);
+            }
         });
     }
 
@@ -118,7 +204,7 @@ public class Plugin {
      */
     @SuppressWarnings("unused")
     public static int getBarHeight() {
-        return keyboardProvider.getNavBarHeight();
+        return (metricsProvider == null) ? 0 : metricsProvider.get().navBarHeight;
     }
 
     /**
@@ -131,34 +217,281 @@ public class Plugin {
      */
     @SuppressWarnings("unused")
     public static int getBarType() {
-        return keyboardProvider.getNavBarNavigationType();
+        return (metricsProvider == null) ? 0 : metricsProvider.get().navBarType;
+    }
+
+    /**
+     * Get cached screen metrics
+     * [nav bar height, nav bar type, safe left, safe top, safe right, safe bottom, dpi, width, height]
+     *
+     * @return Packed metrics
+     */
+    @SuppressWarnings("unused")
+    public static int[] getMetrics() {
+        ScreenMetrics metrics = (metricsProvider == null) ? ScreenMetrics.EMPTY : metricsProvider.get();
+        return new int[]{metrics.navBarHeight, metrics.navBarType, metrics.safeLeft, metrics.safeTop, metrics.safeRight, metrics.safeBottom, metrics.densityDpi, metrics.width, metrics.height};
     }
 
     /**
-     * Destroy plugin, remove layout
+     * Destroy plugin, remove layout, deliver queued events and stop sender thread and listeners
      */
     @SuppressWarnings("unused")
     public static void destroy() {
         activity.runOnUiThread(() -> {
+            commands.clear();
+            bridge.finish();
+            keyboardCache.release();
             if (layout != null) {
                 group.removeView(layout);
             }
             keyboardProvider.disable();
             keyboardProvider = null;
+            metricsProvider.disable();
+            metricsProvider = null;
             keyboardListener = null;
             orientationListener = null;
         });
     }
 
     /**
-     * Send data to MobileInput
+     * Register style on calling thread, inputs refer to it by id
+     *
+     * @param data Style data with id
+     * @return True if registered
+     */
+    @SuppressWarnings("unused")
+    public static boolean registerStyle(final String data) {
+        try {
+            JSONObject json = new JSONObject(data);
+            InputStyle.register(json.getString("style"), json);
+            return true;
+        } catch (JSONException e) {
+            bridge.sendError("STYLE_ERROR", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Decode command on calling thread and send it to MobileInput, only view changes run on UI thread
      *
      * @param id   Input id
      * @param data Data to process
      */
     @SuppressWarnings("unused")
     public static void execute(final int id, final String data) {
-        activity.runOnUiThread(() -> MobileInput.processMessage(id, data));
+        try {
+            final Command command = Command.parse(new JSONObject(data));
+            if (id == Protocol.GLOBAL) {
+                return;
+            }
+            commands.post(id, command.property, () -> MobileInput.processCommand(id, command));
+        } catch (JSONException e) {
+            bridge.sendError("RECEIVE_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Set input position and size, normalized to screen
+     *
+     * @param id     Input id
+     * @param x      Left position
+     * @param y      Top position
+     * @param width  Width
+     * @param height Height
+     */
+    @SuppressWarnings("unused")
+    public static void setRect(final int id, final float x, final float y, final float width, final float height) {
+        commands.post(id, CommandQueue.RECT, () -> MobileInput.setRect(id, x, y, width, height));
+    }
+
+    /**
+     * Set or clear input focus
+     *
+     * @param id      Input id
+     * @param isFocus Focus state
+     */
+    @SuppressWarnings("unused")
+    public static void setFocus(final int id, final boolean isFocus) {
+        commands.post(() -> MobileInput.setFocus(id, isFocus));
+    }
+
+    /**
+     * Move group of inputs by translation, normalized to screen
+     *
+     * @param group Group name
+     * @param x     Offset x
+     * @param y     Offset y
+     */
+    @SuppressWarnings("unused")
+    public static void setGroupOffset(final String group, final float x, final float y) {
+        commands.post(MobileInput.getGroupKey(group), CommandQueue.GROUP_OFFSET, () -> MobileInput.setGroupOffset(group, x, y));
+    }
+
+    /**
+     * Set input visibility
+     *
+     * @param id        Input id
+     * @param isVisible Visible flag
+     */
+    @SuppressWarnings("unused")
+    public static void setVisible(final int id, final boolean isVisible) {
+        commands.post(id, CommandQueue.VISIBLE, () -> MobileInput.setVisible(id, isVisible));
+    }
+
+    /**
+     * Get input state snapshot without UI thread
+     * [text version, selection start, selection end, focused, visible, keyboard height, orientation]
+     *
+     * @param id Input id
+     * @return Packed state or null if input not exists
+     */
+    @SuppressWarnings("unused")
+    public static int[] getState(int id) {
+        InputState state = MobileInput.getState(id);
+        if (state == null) {
+            return null;
+        }
+        return new int[]{state.version, state.selectionStart, state.selectionEnd, state.isFocused ? 1 : 0, state.isVisible ? 1 : 0, keyboardHeight, orientation};
+    }
+
+    /**
+     * Get input normalized rect without UI thread
+     *
+     * @param id Input id
+     * @return [x, y, width, height] or null if input not exists
+     */
+    @SuppressWarnings("unused")
+    public static float[] getRect(int id) {
+        InputState state = MobileInput.getState(id);
+        if (state == null) {
+            return null;
+        }
+        return new float[]{state.x, state.y, state.width, state.height};
+    }
+
+    /**
+     * Get input text version
+     *
+     * @param id Input id
+     * @return Version or -1 if input not exists
+     */
+    @SuppressWarnings("unused")
+    public static int getTextVersion(int id) {
+        InputState state = MobileInput.getState(id);
+        return (state == null) ? -1 : state.version;
+    }
+
+    /**
+     * Get input selection start
+     *
+     * @param id Input id
+     * @return Position or -1 if input not exists
+     */
+    @SuppressWarnings("unused")
+    public static int getSelectionStart(int id) {
+        InputState state = MobileInput.getState(id);
+        return (state == null) ? -1 : state.selectionStart;
+    }
+
+    /**
+     * Get input selection end
+     *
+     * @param id Input id
+     * @return Position or -1 if input not exists
+     */
+    @SuppressWarnings("unused")
+    public static int getSelectionEnd(int id) {
+        InputState state = MobileInput.getState(id);
+        return (state == null) ? -1 : state.selectionEnd;
+    }
+
+    /**
+     * Check input focus
+     *
+     * @param id Input id
+     * @return Focus state
+     */
+    @SuppressWarnings("unused")
+    public static boolean isInputFocused(int id) {
+        InputState state = MobileInput.getState(id);
+        return state != null && state.isFocused;
+    }
+
+    /**
+     * Check input visibility
+     *
+     * @param id Input id
+     * @return Visible state
+     */
+    @SuppressWarnings("unused")
+    public static boolean isInputVisible(int id) {
+        InputState state = MobileInput.getState(id);
+        return state != null && state.isVisible;
+    }
+
+    /**
+     * Get latest keyboard height
+     *
+     * @return Height in pixels, 0 if hidden
+     */
+    @SuppressWarnings("unused")
+    public static int getKeyboardHeight() {
+        return keyboardHeight;
+    }
+
+    /**
+     * Get predicted keyboard height for input, from heights observed before
+     *
+     * @param id Input id
+     * @return Height in pixels or 0 if unknown
+     */
+    @SuppressWarnings("unused")
+    public static int getPredictedKeyboardHeight(int id) {
+        InputState state = MobileInput.getState(id);
+        if (state == null || keyboardCache == null) {
+            return 0;
+        }
+        return keyboardCache.predict(orientation, state.inputType);
+    }
+
+    /**
+     * Get count of events waiting for delivery to Unity
+     *
+     * @return Sender queue depth
+     */
+    @SuppressWarnings("unused")
+    public static int getEventQueueDepth() {
+        return bridge.getQueueDepth();
+    }
+
+    /**
+     * Get count of state events dropped because sender queue was full
+     *
+     * @return Dropped events since init
+     */
+    @SuppressWarnings("unused")
+    public static int getDroppedEvents() {
+        return bridge.getDroppedCount();
+    }
+
+    /**
+     * Get count of inputs layout passes, to measure relayout cost
+     *
+     * @return Layout passes since init
+     */
+    @SuppressWarnings("unused")
+    public static int getLayoutCount() {
+        return (layout instanceof InputLayout) ? ((InputLayout) layout).getLayoutCount() : 0;
+    }
+
+    /**
+     * Get latest screen orientation
+     *
+     * @return Orientation from Configuration
+     */
+    @SuppressWarnings("unused")
+    public static int getOrientation() {
+        return orientation;
     }
 
     /**
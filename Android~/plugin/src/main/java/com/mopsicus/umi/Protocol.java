@@ -0,0 +1,137 @@
+package com.mopsicus.umi;
+
+public class Protocol {
+
+    /**
+     * JSON mode, each event is a JSON string inside JSON wrapper
+     */
+    static final int JSON = 0;
+
+    /**
+     * Current compact protocol version
+     * Frame format: #version;opcode;id;count;{type}{length}:{payload}...
+     */
+    static final int VERSION = 1;
+
+    /**
+     * First char of compact frame
+     */
+    static final char FRAME = '#';
+
+    /**
+     * Separator for frame header values
+     */
+    static final char SEPARATOR = ';';
+
+    /**
+     * Separator between field length and payload
+     */
+    static final char LENGTH = ':';
+
+    /**
+     * Field type markers
+     */
+    static final char FIELD_STRING = 's';
+    static final char FIELD_INT = 'i';
+    static final char FIELD_BOOL = 'b';
+
+    /**
+     * Id for events and commands without input, same as in Runtime/Protocol.cs
+     */
+    static final int GLOBAL = -1;
+
+    /**
+     * Event opcodes, order must be the same as in Runtime/Protocol.cs
+     */
+    static final int ERROR = 0;
+    static final int READY = 1;
+    static final int ON_FOCUS = 2;
+    static final int ON_UNFOCUS = 3;
+    static final int TEXT_CHANGE = 4;
+    static final int TEXT_END_EDIT = 5;
+    static final int RETURN_PRESSED = 6;
+    static final int KEYBOARD = 7;
+    static final int ORIENTATION = 8;
+    static final int TEXT_DELTA = 9;
+    static final int KEYBOARD_START = 10;
+    static final int KEYBOARD_PROGRESS = 11;
+    static final int METRICS = 12;
+    static final int SELECTION = 13;
+
+    /**
+     * Event names for JSON mode
+     */
+    private static final String[] NAMES = {
+            "ERROR",
+            "READY",
+            "ON_FOCUS",
+            "ON_UNFOCUS",
+            "TEXT_CHANGE",
+            "TEXT_END_EDIT",
+            "RETURN_PRESSED",
+            "KEYBOARD",
+            "ORIENTATION",
+            "TEXT_DELTA",
+            "KEYBOARD_START",
+            "KEYBOARD_PROGRESS",
+            "METRICS",
+            "SELECTION"
+    };
+
+    /**
+     * Get event name by opcode
+     *
+     * @param opcode Event opcode
+     * @return Name
+     */
+    static String name(int opcode) {
+        if (opcode < 0 || opcode >= NAMES.length) {
+            return "UNKNOWN";
+        }
+        return NAMES[opcode];
+    }
+
+    /**
+     * Check if event is global action, not linked to input
+     *
+     * @param opcode Event opcode
+     * @return True for actions
+     */
+    static boolean isAction(int opcode) {
+        return opcode == KEYBOARD || opcode == ORIENTATION || opcode == KEYBOARD_START || opcode == KEYBOARD_PROGRESS || opcode == METRICS;
+    }
+
+    /**
+     * Check if event can be replaced by next one of the same kind and input
+     *
+     * @param opcode Event opcode
+     * @return True if only latest value matters
+     */
+    static boolean isCoalescable(int opcode) {
+        return opcode == TEXT_CHANGE || opcode == KEYBOARD || opcode == ORIENTATION || opcode == KEYBOARD_PROGRESS || opcode == METRICS || opcode == SELECTION;
+    }
+
+    /**
+     * Check if event must not wait for next batch flush: ready, focus, return, end edit, errors
+     *
+     * @param opcode Event opcode
+     * @return True if event is urgent
+     */
+    static boolean isUrgent(int opcode) {
+        return !isCoalescable(opcode) && opcode != TEXT_DELTA && opcode != KEYBOARD_START;
+    }
+
+    /**
+     * Select protocol version from requested by Unity
+     *
+     * @param requested Max version supported by Unity side
+     * @return Version to use, or JSON
+     */
+    static int negotiate(int requested) {
+        if (requested <= JSON) {
+            return JSON;
+        }
+        return Math.min(requested, VERSION);
+    }
+
+}
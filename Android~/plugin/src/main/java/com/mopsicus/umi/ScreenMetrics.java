@@ -0,0 +1,83 @@
+package com.mopsicus.umi;
+
+public class ScreenMetrics {
+
+    /**
+     * Metrics before first measure
+     */
+    static final ScreenMetrics EMPTY = new ScreenMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Navigation bar height, 0 if hidden or gesture navigation
+     */
+    final int navBarHeight;
+
+    /**
+     * Navigation type, see Plugin.getBarType
+     */
+    final int navBarType;
+
+    /**
+     * Safe area insets from display cutout
+     */
+    final int safeLeft;
+    final int safeTop;
+    final int safeRight;
+    final int safeBottom;
+
+    /**
+     * Screen density in dpi
+     */
+    final int densityDpi;
+
+    /**
+     * Real screen size
+     */
+    final int width;
+    final int height;
+
+    /**
+     * Constructor
+     *
+     * @param navBarHeight Navigation bar height
+     * @param navBarType   Navigation type
+     * @param safeLeft     Left safe inset
+     * @param safeTop      Top safe inset
+     * @param safeRight    Right safe inset
+     * @param safeBottom   Bottom safe inset
+     * @param densityDpi   Screen density
+     * @param width        Real screen width
+     * @param height       Real screen height
+     */
+    ScreenMetrics(int navBarHeight, int navBarType, int safeLeft, int safeTop, int safeRight, int safeBottom, int densityDpi, int width, int height) {
+        this.navBarHeight = navBarHeight;
+        this.navBarType = navBarType;
+        this.safeLeft = safeLeft;
+        this.safeTop = safeTop;
+        this.safeRight = safeRight;
+        this.safeBottom = safeBottom;
+        this.densityDpi = densityDpi;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Compare with other metrics
+     *
+     * @param other Metrics to compare
+     * @return True if all values are same
+     */
+    boolean isSame(ScreenMetrics other) {
+        return other != null
+                && navBarHeight == other.navBarHeight
+                && navBarType == other.navBarType
+                && safeLeft == other.safeLeft
+                && safeTop == other.safeTop
+                && safeRight == other.safeRight
+                && safeBottom == other.safeBottom
+                && densityDpi == other.densityDpi
+                && width == other.width
+                && height == other.height;
+    }
+
+}
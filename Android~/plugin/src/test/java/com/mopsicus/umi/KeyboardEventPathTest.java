@@ -0,0 +1,121 @@
+package com.mopsicus.umi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.res.Configuration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class KeyboardEventPathTest {
+
+    /**
+     * Count of simulated layout passes
+     */
+    private static final int CALLBACKS = 100_000;
+
+    /**
+     * Visible frame bottoms: keyboard opens in steps, stays, closes, with repeated passes between
+     */
+    private static final int[] FRAMES = {2000, 2000, 1800, 1600, 1400, 1200, 1200, 1200, 1200, 1400, 1600, 1800, 2000, 2000};
+
+    /**
+     * Reusable buffer like Bridge frame
+     */
+    private final StringBuilder frame = new StringBuilder(256);
+
+    /**
+     * Count of keyboard notifications
+     */
+    private int keyboardCount = 0;
+
+    /**
+     * Count of orientation notifications
+     */
+    private int orientationCount = 0;
+
+    /**
+     * Keyboard and orientation path like KeyboardListener and OrientationListener with compact delivery
+     */
+    private KeyboardHeightCalculator calculator;
+
+    /**
+     * Create calculator with observers that build, encode and recycle events
+     */
+    @Before
+    public void setUp() {
+        calculator = new KeyboardHeightCalculator((height, keyboardHeight, orientation) -> {
+            keyboardCount++;
+            deliver(Event.obtain(Protocol.KEYBOARD, Protocol.GLOBAL).put("show", keyboardHeight > 0).put("height", keyboardHeight));
+        }, orientation -> {
+            orientationCount++;
+            deliver(Event.obtain(Protocol.ORIENTATION, Protocol.GLOBAL).put("orientation", (orientation == Configuration.ORIENTATION_PORTRAIT) ? "PORTRAIT" : "LANDSCAPE"));
+        }, 0, Configuration.ORIENTATION_PORTRAIT);
+    }
+
+    /**
+     * Encode event to reused buffer and return it to pool
+     *
+     * @param event Event to deliver
+     */
+    private void deliver(Event event) {
+        frame.setLength(0);
+        Bridge.encodeCompact(event, frame);
+        event.recycle();
+    }
+
+    /**
+     * Run simulated layout passes
+     *
+     * @param count Passes count
+     */
+    private void simulate(int count) {
+        for (int i = 0; i < count; i++) {
+            int orientation = ((i / 1000) % 2 == 0) ? Configuration.ORIENTATION_PORTRAIT : Configuration.ORIENTATION_LANDSCAPE;
+            calculator.onFrame(FRAMES[i % FRAMES.length], orientation);
+        }
+    }
+
+    /**
+     * Layout passes without changes are skipped
+     */
+    @Test
+    public void sameFrameIsSkipped() {
+        for (int i = 0; i < 10; i++) {
+            calculator.onFrame(2000, Configuration.ORIENTATION_PORTRAIT);
+        }
+        assertEquals(0, keyboardCount);
+        for (int i = 0; i < 10; i++) {
+            calculator.onFrame(1500, Configuration.ORIENTATION_PORTRAIT);
+        }
+        assertEquals(1, keyboardCount);
+        assertEquals(0, orientationCount);
+        assertEquals("#1;7;-1;2;b1:1i3:500", frame.toString());
+    }
+
+    /**
+     * Steady layout passes with keyboard and orientation changes allocate nothing
+     */
+    @Test
+    public void layoutPassesDoNotAllocate() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+        simulate(CALLBACKS);
+        int keyboardBefore = keyboardCount;
+        long start = bean.getThreadAllocatedBytes(thread);
+        long overhead = bean.getThreadAllocatedBytes(thread) - start;
+        start = bean.getThreadAllocatedBytes(thread);
+        simulate(CALLBACKS);
+        long allocated = bean.getThreadAllocatedBytes(thread) - start - overhead;
+        assertTrue(keyboardCount - keyboardBefore > CALLBACKS / 4);
+        assertTrue(orientationCount > 0);
+        assertTrue(String.format("allocated %d bytes in %d layout passes", allocated, CALLBACKS), allocated < 256);
+    }
+
+}
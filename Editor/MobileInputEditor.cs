@@ -75,6 +75,30 @@ namespace UMI {
             GUILayout.Space(SPACE);
             _target.IsManualHideControl = GUILayout.Toggle(_target.IsManualHideControl, " Manual hide control");
             GUILayout.Space(SPACE);
+#if UNITY_ANDROID
+            _target.IsTextDelta = GUILayout.Toggle(_target.IsTextDelta, " Text changes as deltas");
+            GUILayout.Space(SPACE);
+            GUILayout.BeginHorizontal();
+            GUILayout.Label("Text change policy:", GUILayout.MaxWidth(LABEL_SIZE));
+            _target.TextChange = (MobileInputField.TextChangeMode)EditorGUILayout.EnumPopup(_target.TextChange);
+            GUILayout.EndHorizontal();
+            if (_target.TextChange == MobileInputField.TextChangeMode.Throttle || _target.TextChange == MobileInputField.TextChangeMode.Debounce) {
+                GUILayout.BeginHorizontal();
+                GUILayout.Label("Interval, ms:", GUILayout.MaxWidth(LABEL_SIZE));
+                _target.TextChangeInterval = EditorGUILayout.IntField(_target.TextChangeInterval);
+                GUILayout.EndHorizontal();
+            }
+            GUILayout.Space(SPACE);
+            GUILayout.BeginHorizontal();
+            GUILayout.Label("Group:", GUILayout.MaxWidth(LABEL_SIZE));
+            _target.Group = (MobileInputGroup)EditorGUILayout.ObjectField(_target.Group, typeof(MobileInputGroup), true);
+            GUILayout.EndHorizontal();
+            GUILayout.Space(SPACE);
+            _target.IsSharedEditor = GUILayout.Toggle(_target.IsSharedEditor, " Shared native editor");
+            GUILayout.Space(SPACE);
+            _target.IsHeadless = GUILayout.Toggle(_target.IsHeadless, " Headless native input");
+            GUILayout.Space(SPACE);
+#endif
 #if UNITY_IOS
             _target.IsWithDoneButton = GUILayout.Toggle(_target.IsWithDoneButton, " Show \"Done\" button");
             GUILayout.Space(SPACE);
@@ -23,6 +23,123 @@ namespace UMI {
         FACE_DOWN = 5
     }
 
+    /// <summary>
+    /// Options for plugin init
+    /// </summary>
+    public class MobileInputOptions {
+
+        /// <summary>
+        /// Use compact events format instead of JSON (Android)
+        /// </summary>
+        public bool IsCompactProtocol = true;
+
+        /// <summary>
+        /// Collect native events and receive them once per frame (Android)
+        /// </summary>
+        public bool IsBatchEvents = false;
+
+        /// <summary>
+        /// Interval between batches in ms, 0 to send batch on each frame (Android)
+        /// </summary>
+        public int BatchInterval = 0;
+
+        /// <summary>
+        /// Track keyboard animation frames with window insets, popup tracker is used before Android 11 (Android)
+        /// </summary>
+        public bool IsKeyboardAnimation = false;
+
+        /// <summary>
+        /// Max keyboard animation frames per second, 0 for each frame (Android)
+        /// </summary>
+        public int KeyboardFrameRate = 0;
+
+        /// <summary>
+        /// Count of native fields to create in advance, so first field is shown faster (Android)
+        /// </summary>
+        public int PrewarmFields = 0;
+
+        /// <summary>
+        /// Custom fonts to load in advance on background thread, font name from StreamingAssets or full path to font file (Android)
+        /// </summary>
+        public string[] PreloadFonts = null;
+    }
+
+    /// <summary>
+    /// Native input state snapshot
+    /// </summary>
+    public struct MobileInputState {
+
+        /// <summary>
+        /// Native text version
+        /// </summary>
+        public int TextVersion;
+
+        /// <summary>
+        /// Selection start position
+        /// </summary>
+        public int SelectionStart;
+
+        /// <summary>
+        /// Selection end position
+        /// </summary>
+        public int SelectionEnd;
+
+        /// <summary>
+        /// Native focus state
+        /// </summary>
+        public bool IsFocused;
+
+        /// <summary>
+        /// Native visible state
+        /// </summary>
+        public bool IsVisible;
+
+        /// <summary>
+        /// Latest keyboard height, 0 if hidden
+        /// </summary>
+        public int KeyboardHeight;
+
+        /// <summary>
+        /// Latest screen orientation
+        /// </summary>
+        public HardwareOrientation Orientation;
+    }
+
+    /// <summary>
+    /// Cached native screen metrics
+    /// </summary>
+    public struct MobileInputMetrics {
+
+        /// <summary>
+        /// Navigation bar height, 0 if hidden or gesture navigation
+        /// </summary>
+        public int NavigationBarHeight;
+
+        /// <summary>
+        /// Navigation bar type, same as GetBarType
+        /// </summary>
+        public int NavigationBarType;
+
+        /// <summary>
+        /// Safe area insets from display cutout
+        /// </summary>
+        public int SafeLeft;
+        public int SafeTop;
+        public int SafeRight;
+        public int SafeBottom;
+
+        /// <summary>
+        /// Screen density in dpi
+        /// </summary>
+        public int Dpi;
+
+        /// <summary>
+        /// Real screen size
+        /// </summary>
+        public int Width;
+        public int Height;
+    }
+
     /// <summary>
     /// Base class for InputField
     /// </summary>
@@ -61,6 +178,63 @@ namespace UMI {
 #endif
         }
 
+#if UNITY_ANDROID && !UNITY_EDITOR
+        /// <summary>
+        /// Send rect to plugin without JSON
+        /// </summary>
+        /// <param name="x">Normalized x</param>
+        /// <param name="y">Normalized y</param>
+        /// <param name="width">Normalized width</param>
+        /// <param name="height">Normalized height</param>
+        protected void ExecuteRect(float x, float y, float width, float height) {
+            MobileInput.ExecuteRect(_id, x, y, width, height);
+        }
+
+        /// <summary>
+        /// Send focus state to plugin without JSON
+        /// </summary>
+        /// <param name="isFocus">Focus state</param>
+        protected void ExecuteFocus(bool isFocus) {
+            MobileInput.ExecuteFocus(_id, isFocus);
+        }
+
+        /// <summary>
+        /// Send visible state to plugin without JSON
+        /// </summary>
+        /// <param name="isVisible">Visible state</param>
+        protected void ExecuteVisible(bool isVisible) {
+            MobileInput.ExecuteVisible(_id, isVisible);
+        }
+#endif
+
+        /// <summary>
+        /// Read latest native state without waiting for events
+        /// Safe to poll each frame, works on Android only
+        /// </summary>
+        /// <param name="state">State snapshot</param>
+        /// <returns>True if native input exists</returns>
+        public bool TryGetNativeState(out MobileInputState state) {
+#if UNITY_ANDROID && !UNITY_EDITOR
+            return MobileInput.GetState(_id, out state);
+#else
+            state = default;
+            return false;
+#endif
+        }
+
+        /// <summary>
+        /// Get keyboard height observed before for this field, to prepare layout before keyboard appears
+        /// Works on Android only
+        /// </summary>
+        /// <returns>Height in pixels, 0 if unknown</returns>
+        public int GetPredictedKeyboardHeight() {
+#if UNITY_ANDROID && !UNITY_EDITOR
+            return MobileInput.GetPredictedKeyboardHeight(_id);
+#else
+            return 0;
+#endif
+        }
+
         /// <summary>
         /// Send data to plugin manually
         /// </summary>
@@ -93,6 +267,45 @@ namespace UMI {
         /// Android plugin package name
         /// </summary>
         const string PLUGIN_PACKAGE = "com.mopsicus.umi.Plugin";
+
+        /// <summary>
+        /// Registered styles, style data to id
+        /// </summary>
+        static readonly Dictionary<string, string> _styles = new Dictionary<string, string>();
+
+        /// <summary>
+        /// Cached plugin class for direct calls
+        /// </summary>
+        static AndroidJavaClass _plugin = null;
+
+        /// <summary>
+        /// Cached method ids for direct calls
+        /// </summary>
+        static IntPtr _setRectMethod = IntPtr.Zero;
+        static IntPtr _setFocusMethod = IntPtr.Zero;
+        static IntPtr _setVisibleMethod = IntPtr.Zero;
+        static IntPtr _setGroupOffsetMethod = IntPtr.Zero;
+        static IntPtr _getStateMethod = IntPtr.Zero;
+        static IntPtr _getKeyboardHeightMethod = IntPtr.Zero;
+        static IntPtr _getPredictedKeyboardHeightMethod = IntPtr.Zero;
+        static IntPtr _getBarHeightMethod = IntPtr.Zero;
+        static IntPtr _getBarTypeMethod = IntPtr.Zero;
+        static IntPtr _getMetricsMethod = IntPtr.Zero;
+
+        /// <summary>
+        /// Reusable args for direct calls
+        /// </summary>
+        static readonly jvalue[] _rectArgs = new jvalue[5];
+        static readonly jvalue[] _flagArgs = new jvalue[2];
+        static readonly jvalue[] _groupArgs = new jvalue[3];
+        static readonly jvalue[] _idArgs = new jvalue[1];
+        static readonly jvalue[] _emptyArgs = new jvalue[0];
+
+        /// <summary>
+        /// Orientation values from Android Configuration
+        /// </summary>
+        const int ORIENTATION_PORTRAIT = 1;
+        const int ORIENTATION_LANDSCAPE = 2;
 #endif
 
         /// <summary>
@@ -105,6 +318,21 @@ namespace UMI {
         /// </summary>
         const string KEYBOARD_ACTION = "KEYBOARD";
 
+        /// <summary>
+        /// Event name for keyboard animation start
+        /// </summary>
+        const string KEYBOARD_START_ACTION = "KEYBOARD_START";
+
+        /// <summary>
+        /// Event name for keyboard animation frame
+        /// </summary>
+        const string KEYBOARD_PROGRESS_ACTION = "KEYBOARD_PROGRESS";
+
+        /// <summary>
+        /// Event name for screen metrics change
+        /// </summary>
+        const string METRICS_ACTION = "METRICS";
+
         /// <summary>
         /// Event name for orientation change
         /// </summary>
@@ -145,6 +373,21 @@ namespace UMI {
         /// </summary>
         public static Action<bool, int> OnKeyboardAction = delegate { };
 
+        /// <summary>
+        /// Event for keyboard animation start: start height, target height, duration in ms
+        /// </summary>
+        public static Action<int, int, int> OnKeyboardAnimationStart = delegate { };
+
+        /// <summary>
+        /// Event for keyboard animation frame: current height, target height
+        /// </summary>
+        public static Action<int, int> OnKeyboardAnimationProgress = delegate { };
+
+        /// <summary>
+        /// Event for screen metrics change (Android)
+        /// </summary>
+        public static Action<MobileInputMetrics> OnMetricsChange = delegate { };
+
         /// <summary>
         /// Callback on screen rotate
         /// </summary>
@@ -161,7 +404,7 @@ namespace UMI {
         static MobileInput _instance = null;
 
         /// <summary>
-        /// Cache data for hidden app state
+        /// Cache last event for hidden app state
         /// </summary>
         JsonObject _data = null;
 
@@ -217,9 +460,22 @@ namespace UMI {
 #if UMI_DEBUG
             Debug.Log($"[UMI] received: {data.ToJsonPrettyPrintString()}");
 #endif
-            _data = data;
             try {
-                var response = (JsonObject)JsonNode.ParseJsonString(data["data"]);
+                OnResponse((JsonObject)JsonNode.ParseJsonString(data["data"]));
+            } catch (Exception e) {
+#if UMI_DEBUG
+                Debug.LogError($"[UMI] received error: {e}");
+#endif
+            }
+        }
+
+        /// <summary>
+        /// Process decoded event from plugin
+        /// </summary>
+        /// <param name="response">Event data</param>
+        void OnResponse(JsonObject response) {
+            _data = response;
+            try {
                 if (response.ContainsKey("action")) {
                     string action = response["action"];
                     switch (action) {
@@ -228,6 +484,25 @@ namespace UMI {
                             int height = response["height"];
                             OnKeyboardAction(isShow, height);
                             return;
+                        case KEYBOARD_START_ACTION:
+                            OnKeyboardAnimationStart(response["start"], response["target"], response["duration"]);
+                            return;
+                        case KEYBOARD_PROGRESS_ACTION:
+                            OnKeyboardAnimationProgress(response["height"], response["target"]);
+                            return;
+                        case METRICS_ACTION:
+                            OnMetricsChange(new MobileInputMetrics {
+                                NavigationBarHeight = response["nav_height"],
+                                NavigationBarType = response["nav_type"],
+                                SafeLeft = response["safe_left"],
+                                SafeTop = response["safe_top"],
+                                SafeRight = response["safe_right"],
+                                SafeBottom = response["safe_bottom"],
+                                Dpi = response["dpi"],
+                                Width = response["width"],
+                                Height = response["height"]
+                            });
+                            return;
                         case ORIENTATION_ACTION:
 #if UNITY_ANDROID
                             if (IsRotationLocked()) {
@@ -295,11 +570,17 @@ namespace UMI {
             Debug.Log($"[UMI] raw data: {data}");
 #endif
             try {
+                if (Protocol.IsCompact(data)) {
+                    OnCompactData(data);
+                    return;
+                }
                 var info = (JsonObject)JsonNode.ParseJsonString(data);
-                if (info.ContainsKey("error")) {
-                    OnError(info);
+                if (info.ContainsKey("batch")) {
+                    foreach (JsonObject item in (JsonArray)info["batch"]) {
+                        OnInfo(item);
+                    }
                 } else {
-                    OnData(info);
+                    OnInfo(info);
                 }
             } catch (Exception e) {
 #if UMI_DEBUG
@@ -308,6 +589,37 @@ namespace UMI {
             }
         }
 
+        /// <summary>
+        /// Process JSON message with data or error
+        /// </summary>
+        /// <param name="info">Message</param>
+        void OnInfo(JsonObject info) {
+            if (info.ContainsKey("error")) {
+                OnError(info);
+            } else {
+                OnData(info);
+            }
+        }
+
+        /// <summary>
+        /// Decode compact frames and process each event
+        /// </summary>
+        /// <param name="data">Raw data</param>
+        void OnCompactData(string data) {
+            var index = 0;
+            while (index < data.Length) {
+                var response = Protocol.Decode(data, ref index, out var isError);
+#if UMI_DEBUG
+                Debug.Log($"[UMI] decoded: {response.ToJsonString()}");
+#endif
+                if (isError) {
+                    OnError(response);
+                } else {
+                    OnResponse(response);
+                }
+            }
+        }
+
 #if UNITY_ANDROID
         /// <summary>
         /// Check if screen rotation locked
@@ -327,20 +639,70 @@ namespace UMI {
         /// </summary>
         /// <returns>Type of navigation bar</returns>
         public static int GetBarType() {
-            using (var plugin = new AndroidJavaClass(PLUGIN_PACKAGE)) {
-                return plugin.CallStatic<int>("getBarType");
-            }
-        }   
+            PrepareDirectCalls();
+            return AndroidJNI.CallStaticIntMethod(_plugin.GetRawClass(), _getBarTypeMethod, _emptyArgs);
+        }
 
         /// <summary>
         /// Get height of navigation bar
         /// </summary>
         /// <returns>Height of navbar</returns>
         public static int GetBarHeight() {
+            PrepareDirectCalls();
+            return AndroidJNI.CallStaticIntMethod(_plugin.GetRawClass(), _getBarHeightMethod, _emptyArgs);
+        }
+
+        /// <summary>
+        /// Get count of native events waiting for delivery to Unity
+        /// </summary>
+        /// <returns>Sender queue depth</returns>
+        public static int GetEventQueueDepth() {
+            using (var plugin = new AndroidJavaClass(PLUGIN_PACKAGE)) {
+                return plugin.CallStatic<int>("getEventQueueDepth");
+            }
+        }
+
+        /// <summary>
+        /// Get count of native keyboard animation events dropped because sender queue was full
+        /// </summary>
+        /// <returns>Dropped events since init</returns>
+        public static int GetDroppedEvents() {
+            using (var plugin = new AndroidJavaClass(PLUGIN_PACKAGE)) {
+                return plugin.CallStatic<int>("getDroppedEvents");
+            }
+        }
+
+        /// <summary>
+        /// Get count of native layout passes, to measure cost of fields moving
+        /// </summary>
+        /// <returns>Layout passes since init</returns>
+        public static int GetLayoutCount() {
             using (var plugin = new AndroidJavaClass(PLUGIN_PACKAGE)) {
-                return plugin.CallStatic<int>("getBarHeight");
+                return plugin.CallStatic<int>("getLayoutCount");
             }
-        }               
+        }
+
+        /// <summary>
+        /// Get cached screen metrics, updated by plugin on rotation and resize
+        /// </summary>
+        /// <returns>Screen metrics</returns>
+        public static MobileInputMetrics GetMetrics() {
+            PrepareDirectCalls();
+            var array = AndroidJNI.CallStaticObjectMethod(_plugin.GetRawClass(), _getMetricsMethod, _emptyArgs);
+            var values = AndroidJNI.FromIntArray(array);
+            AndroidJNI.DeleteLocalRef(array);
+            return new MobileInputMetrics {
+                NavigationBarHeight = values[0],
+                NavigationBarType = values[1],
+                SafeLeft = values[2],
+                SafeTop = values[3],
+                SafeRight = values[4],
+                SafeBottom = values[5],
+                Dpi = values[6],
+                Width = values[7],
+                Height = values[8]
+            };
+        }
 #endif
 
         /// <summary>
@@ -392,10 +754,184 @@ namespace UMI {
 #endif
         }
 
+#if UNITY_ANDROID && !UNITY_EDITOR
+        /// <summary>
+        /// Register style once and get its id, same style data returns same id
+        /// Registration is synchronous, failed style is not cached and is registered again next time
+        /// </summary>
+        /// <param name="style">Style data: colors, types, align and font</param>
+        /// <returns>Style id or null if native side can't register it</returns>
+        public static string RegisterStyle(JsonObject style) {
+            var json = style.ToJsonString();
+            if (_styles.TryGetValue(json, out var styleId)) {
+                return styleId;
+            }
+            styleId = $"s{_styles.Count + 1}";
+            style["style"] = styleId;
+#if UMI_DEBUG
+            Debug.Log($"[UMI] register style: {style.ToJsonString()}");
+#endif
+            bool isRegistered;
+            using (var plugin = new AndroidJavaClass(PLUGIN_PACKAGE)) {
+                isRegistered = plugin.CallStatic<bool>("registerStyle", style.ToJsonString());
+            }
+            style.Remove("style");
+            if (!isRegistered) {
+                return null;
+            }
+            _styles[json] = styleId;
+            return styleId;
+        }
+#endif
+
+#if UNITY_ANDROID
+        /// <summary>
+        /// Prepare class and method ids for direct calls
+        /// </summary>
+        static void PrepareDirectCalls() {
+            if (_plugin != null) {
+                return;
+            }
+            _plugin = new AndroidJavaClass(PLUGIN_PACKAGE);
+            var pointer = _plugin.GetRawClass();
+            _setRectMethod = AndroidJNIHelper.GetMethodID(pointer, "setRect", "(IFFFF)V", true);
+            _setFocusMethod = AndroidJNIHelper.GetMethodID(pointer, "setFocus", "(IZ)V", true);
+            _setVisibleMethod = AndroidJNIHelper.GetMethodID(pointer, "setVisible", "(IZ)V", true);
+            _setGroupOffsetMethod = AndroidJNIHelper.GetMethodID(pointer, "setGroupOffset", "(Ljava/lang/String;FF)V", true);
+            _getStateMethod = AndroidJNIHelper.GetMethodID(pointer, "getState", "(I)[I", true);
+            _getKeyboardHeightMethod = AndroidJNIHelper.GetMethodID(pointer, "getKeyboardHeight", "()I", true);
+            _getPredictedKeyboardHeightMethod = AndroidJNIHelper.GetMethodID(pointer, "getPredictedKeyboardHeight", "(I)I", true);
+            _getBarHeightMethod = AndroidJNIHelper.GetMethodID(pointer, "getBarHeight", "()I", true);
+            _getBarTypeMethod = AndroidJNIHelper.GetMethodID(pointer, "getBarType", "()I", true);
+            _getMetricsMethod = AndroidJNIHelper.GetMethodID(pointer, "getMetrics", "()[I", true);
+        }
+
+        /// <summary>
+        /// Move group of fields by translation
+        /// </summary>
+        /// <param name="group">Group name</param>
+        /// <param name="x">Normalized x offset</param>
+        /// <param name="y">Normalized y offset</param>
+        public static void ExecuteGroupOffset(string group, float x, float y) {
+#if UMI_DEBUG
+            Debug.Log($"[UMI] ({group}) set group offset: {x}, {y}");
+#endif
+            PrepareDirectCalls();
+            var name = AndroidJNI.NewStringUTF(group);
+            _groupArgs[0].l = name;
+            _groupArgs[1].f = x;
+            _groupArgs[2].f = y;
+            AndroidJNI.CallStaticVoidMethod(_plugin.GetRawClass(), _setGroupOffsetMethod, _groupArgs);
+            AndroidJNI.DeleteLocalRef(name);
+        }
+
+        /// <summary>
+        /// Read native input state without waiting for UI thread
+        /// </summary>
+        /// <param name="id">Input id</param>
+        /// <param name="state">State snapshot</param>
+        /// <returns>True if input exists</returns>
+        public static bool GetState(int id, out MobileInputState state) {
+            state = default;
+            PrepareDirectCalls();
+            _idArgs[0].i = id;
+            var array = AndroidJNI.CallStaticObjectMethod(_plugin.GetRawClass(), _getStateMethod, _idArgs);
+            if (array == IntPtr.Zero) {
+                return false;
+            }
+            var values = AndroidJNI.FromIntArray(array);
+            AndroidJNI.DeleteLocalRef(array);
+            state.TextVersion = values[0];
+            state.SelectionStart = values[1];
+            state.SelectionEnd = values[2];
+            state.IsFocused = values[3] != 0;
+            state.IsVisible = values[4] != 0;
+            state.KeyboardHeight = values[5];
+            state.Orientation = values[6] switch {
+                ORIENTATION_PORTRAIT => HardwareOrientation.PORTRAIT,
+                ORIENTATION_LANDSCAPE => HardwareOrientation.LANDSCAPE,
+                _ => HardwareOrientation.UNKNOWN
+            };
+            return true;
+        }
+
+        /// <summary>
+        /// Read latest keyboard height without waiting for UI thread
+        /// </summary>
+        /// <returns>Height in pixels, 0 if hidden</returns>
+        public static int GetKeyboardHeight() {
+            PrepareDirectCalls();
+            return AndroidJNI.CallStaticIntMethod(_plugin.GetRawClass(), _getKeyboardHeightMethod, _emptyArgs);
+        }
+
+        /// <summary>
+        /// Get keyboard height observed before for this input type, orientation and keyboard app
+        /// </summary>
+        /// <param name="id">Input id</param>
+        /// <returns>Height in pixels, 0 if unknown</returns>
+        public static int GetPredictedKeyboardHeight(int id) {
+            PrepareDirectCalls();
+            _idArgs[0].i = id;
+            return AndroidJNI.CallStaticIntMethod(_plugin.GetRawClass(), _getPredictedKeyboardHeightMethod, _idArgs);
+        }
+
+        /// <summary>
+        /// Send rect to plugin without JSON
+        /// </summary>
+        /// <param name="id">Input id</param>
+        /// <param name="x">Normalized x</param>
+        /// <param name="y">Normalized y</param>
+        /// <param name="width">Normalized width</param>
+        /// <param name="height">Normalized height</param>
+        public static void ExecuteRect(int id, float x, float y, float width, float height) {
+#if UMI_DEBUG
+            Debug.Log($"[UMI] ({id}) set rect: {x}, {y}, {width}, {height}");
+#endif
+            PrepareDirectCalls();
+            _rectArgs[0].i = id;
+            _rectArgs[1].f = x;
+            _rectArgs[2].f = y;
+            _rectArgs[3].f = width;
+            _rectArgs[4].f = height;
+            AndroidJNI.CallStaticVoidMethod(_plugin.GetRawClass(), _setRectMethod, _rectArgs);
+        }
+
+        /// <summary>
+        /// Send focus state to plugin without JSON
+        /// </summary>
+        /// <param name="id">Input id</param>
+        /// <param name="isFocus">Focus state</param>
+        public static void ExecuteFocus(int id, bool isFocus) {
+#if UMI_DEBUG
+            Debug.Log($"[UMI] ({id}) set focus: {isFocus}");
+#endif
+            PrepareDirectCalls();
+            _flagArgs[0].i = id;
+            _flagArgs[1].z = isFocus;
+            AndroidJNI.CallStaticVoidMethod(_plugin.GetRawClass(), _setFocusMethod, _flagArgs);
+        }
+
+        /// <summary>
+        /// Send visible state to plugin without JSON
+        /// </summary>
+        /// <param name="id">Input id</param>
+        /// <param name="isVisible">Visible state</param>
+        public static void ExecuteVisible(int id, bool isVisible) {
+#if UMI_DEBUG
+            Debug.Log($"[UMI] ({id}) set visible: {isVisible}");
+#endif
+            PrepareDirectCalls();
+            _flagArgs[0].i = id;
+            _flagArgs[1].z = isVisible;
+            AndroidJNI.CallStaticVoidMethod(_plugin.GetRawClass(), _setVisibleMethod, _flagArgs);
+        }
+#endif
+
         /// <summary>
         /// Init plugin
         /// </summary>
-        public static void Init() {
+        /// <param name="options">Plugin options, default if null</param>
+        public static void Init(MobileInputOptions options = null) {
             if (_isInited) {
 #if UMI_DEBUG
                 Debug.LogError($"[UMI] already inited");
@@ -406,6 +942,7 @@ namespace UMI {
             Debug.Log($"[UMI] init");
 #endif
             _isInited = true;
+            options ??= new MobileInputOptions();
             var state = PlayerPrefs.GetInt(INIT_KEY, 0);
             if (state == 0) {
                 UpdateFonts();
@@ -419,6 +956,19 @@ namespace UMI {
             var data = new JsonObject();
             data["object"] = PLUGIN_NAME;
             data["receiver"] = PLUGIN_RECEIVER;
+            data["protocol"] = options.IsCompactProtocol ? Protocol.VERSION : Protocol.JSON;
+            data["batch"] = options.IsBatchEvents;
+            data["batch_interval"] = options.BatchInterval;
+            data["keyboard"] = options.IsKeyboardAnimation ? "insets" : "popup";
+            data["keyboard_fps"] = options.KeyboardFrameRate;
+            data["prewarm"] = options.PrewarmFields;
+            var fonts = new JsonArray();
+            if (options.PreloadFonts != null) {
+                foreach (var font in options.PreloadFonts) {
+                    fonts.Add(font);
+                }
+            }
+            data["fonts"] = fonts;
             data["debug"] = false;
 #if UMI_DEBUG
             data["debug"] = true;
@@ -503,7 +1053,7 @@ namespace UMI {
         void OnApplicationPause(bool pauseStatus) {
             if (!pauseStatus) {
                 if (_data != null) {
-                    OnData(_data);
+                    OnResponse(_data);
                 }
             }
         }
@@ -1,10 +1,12 @@
 using System;
 using System.Collections;
+using System.Collections.Generic;
 using System.Globalization;
 using TMPro;
 using UnityEngine;
 using NiceJson;
 using UnityEngine.Events;
+using UnityEngine.UI;
 
 namespace UMI {
 
@@ -50,6 +52,16 @@ namespace UMI {
             public int CharacterLimit;
         }
 
+        /// <summary>
+        /// Policy to receive intermediate text changes
+        /// </summary>
+        public enum TextChangeMode {
+            Immediate,
+            Throttle,
+            Debounce,
+            EndEdit
+        }
+
         /// <summary>
         /// Button type
         /// </summary>
@@ -153,6 +165,58 @@ namespace UMI {
         /// </summary>
         const string TEXT_END_EDIT = "TEXT_END_EDIT";
 
+        /// <summary>
+        /// Event with text change delta
+        /// </summary>
+        const string TEXT_DELTA = "TEXT_DELTA";
+
+        /// <summary>
+        /// Request full text from native
+        /// </summary>
+        const string SYNC_TEXT = "SYNC_TEXT";
+
+        /// <summary>
+        /// Event with selection of headless field
+        /// </summary>
+        const string SELECTION = "SELECTION";
+
+        /// <summary>
+        /// Horizontal part of TMP alignment, to place caret in empty text
+        /// </summary>
+        const int HORIZONTAL_MASK = 0xFF;
+        const int ALIGN_CENTER = 0x2;
+        const int ALIGN_RIGHT = 0x4;
+
+        /// <summary>
+        /// Set native input filters
+        /// </summary>
+        const string SET_FILTERS = "SET_FILTERS";
+
+        /// <summary>
+        /// Append text to the end
+        /// </summary>
+        const string APPEND_TEXT = "APPEND_TEXT";
+
+        /// <summary>
+        /// Insert text at position
+        /// </summary>
+        const string INSERT_TEXT = "INSERT_TEXT";
+
+        /// <summary>
+        /// Replace range with text
+        /// </summary>
+        const string REPLACE_RANGE = "REPLACE_RANGE";
+
+        /// <summary>
+        /// Delete range of text
+        /// </summary>
+        const string DELETE_RANGE = "DELETE_RANGE";
+
+        /// <summary>
+        /// Apply registered style
+        /// </summary>
+        const string APPLY_STYLE = "APPLY_STYLE";
+
 #if UNITY_ANDROID && !UNITY_EDITOR
         /// <summary>
         /// Event for Android
@@ -190,6 +254,36 @@ namespace UMI {
         /// </summary>
         public bool IsManualHideControl = false;
 
+        /// <summary>
+        /// Receive text changes as deltas instead of full text (Android)
+        /// </summary>
+        public bool IsTextDelta = false;
+
+        /// <summary>
+        /// Policy to receive text changes while editing (Android)
+        /// </summary>
+        public TextChangeMode TextChange = TextChangeMode.Immediate;
+
+        /// <summary>
+        /// Interval for throttle and debounce policies in ms (Android)
+        /// </summary>
+        public int TextChangeInterval = 100;
+
+        /// <summary>
+        /// Group to move field together with others, e.g. ScrollRect content (Android)
+        /// </summary>
+        public MobileInputGroup Group = null;
+
+        /// <summary>
+        /// Create native field only while focused, TMP text is shown otherwise, for screens with many fields (Android)
+        /// </summary>
+        public bool IsSharedEditor = false;
+
+        /// <summary>
+        /// Native side only receives keyboard input, text is always drawn by TMP and rect is not synced (Android)
+        /// </summary>
+        public bool IsHeadless = false;
+
         /// <summary>
         /// "Done" button visible (for iOS)
         /// </summary>
@@ -215,6 +309,16 @@ namespace UMI {
         /// </summary>
         public Action<bool> OnFocusChanged = delegate { };
 
+        /// <summary>
+        /// Action on focus with keyboard height observed before for this field type (Android)
+        /// </summary>
+        public Action<int> OnKeyboardPredicted = delegate { };
+
+        /// <summary>
+        /// Action when selection of headless field changed, start and end positions (Android)
+        /// </summary>
+        public Action<int, int> OnSelectionChanged = delegate { };
+
         /// <summary>
         /// Event when Return pressed, for Unity inspector
         /// </summary>
@@ -240,6 +344,11 @@ namespace UMI {
         /// </summary>
         TMP_Text _inputObjectText = null;
 
+        /// <summary>
+        /// Native field focus flag, to switch TMP text in shared editor mode
+        /// </summary>
+        bool _isNativeFocused = false;
+
         /// <summary>
         /// Set focus on create flag
         /// </summary>
@@ -255,6 +364,11 @@ namespace UMI {
         /// </summary>
         Rect _lastRect = new Rect();
 
+        /// <summary>
+        /// Last normalized field position sent to plugin, native side keeps it on screen resize (Android)
+        /// </summary>
+        Rect _lastNormalRect = new Rect();
+
         /// <summary>
         /// Current config
         /// </summary>
@@ -265,6 +379,49 @@ namespace UMI {
         /// </summary>
         string _textOnCreate = null;
 
+        /// <summary>
+        /// Native text version for deltas
+        /// </summary>
+        int _textVersion = 0;
+
+        /// <summary>
+        /// Full text requested from native after version mismatch
+        /// </summary>
+        bool _isSyncRequested = false;
+
+        /// <summary>
+        /// Selection of headless field from native
+        /// </summary>
+        int _selectionStart = 0;
+        int _selectionEnd = 0;
+
+        /// <summary>
+        /// Caret and selection of headless field must be drawn again
+        /// </summary>
+        bool _isSelectionDirty = false;
+
+#if UNITY_ANDROID && !UNITY_EDITOR
+        /// <summary>
+        /// Layer under TMP text with caret and selection of headless field
+        /// </summary>
+        RectTransform _selectionLayer = null;
+
+        /// <summary>
+        /// Caret of headless field
+        /// </summary>
+        Image _caret = null;
+
+        /// <summary>
+        /// Selection rects of headless field, one per line
+        /// </summary>
+        readonly List<Image> _selectionRects = new List<Image>();
+
+        /// <summary>
+        /// Time of last caret move, blink starts from visible caret
+        /// </summary>
+        float _caretBlinkStart = 0f;
+#endif
+
         /// <summary>
         /// Change , to . for float
         /// </summary>
@@ -399,12 +556,191 @@ namespace UMI {
                     this.SetTextNative(this._inputObjectText.text);
                 }
             }
-            _inputObject.placeholder.gameObject.SetActive(false);
             _inputObject.enabled = false;
-            _inputObjectText.enabled = false;
+#if UNITY_ANDROID
+            SetTextComponentVisible(IsSharedEditor || IsHeadless);
+#else
+            SetTextComponentVisible(false);
+#endif
 #endif
         }
 
+        /// <summary>
+        /// Switch TMP text and placeholder, native field draws text while it exists
+        /// </summary>
+        /// <param name="isVisible">Visible flag</param>
+        void SetTextComponentVisible(bool isVisible) {
+            _inputObject.placeholder.gameObject.SetActive(isVisible && string.IsNullOrEmpty(_inputObject.text));
+            _inputObjectText.enabled = isVisible;
+        }
+
+#if UNITY_ANDROID && !UNITY_EDITOR
+        /// <summary>
+        /// Draw caret and selection of headless field while it is focused, TMP input is disabled and draws nothing
+        /// Caret blinks with TMP blink rate
+        /// </summary>
+        void UpdateSelection() {
+            if (!_isNativeFocused) {
+                if (_selectionLayer != null && _selectionLayer.gameObject.activeSelf) {
+                    _selectionLayer.gameObject.SetActive(false);
+                }
+                return;
+            }
+            if (_isSelectionDirty) {
+                _isSelectionDirty = false;
+                _caretBlinkStart = Time.unscaledTime;
+                DrawSelection();
+            }
+            if (_selectionStart == _selectionEnd) {
+                var rate = _inputObject.caretBlinkRate;
+                _caret.enabled = rate <= 0f || ((Time.unscaledTime - _caretBlinkStart) * rate) % 1f < 0.5f;
+            }
+        }
+
+        /// <summary>
+        /// Place caret or selection rects by TMP text info
+        /// </summary>
+        void DrawSelection() {
+            if (_selectionLayer == null) {
+                var layer = new GameObject("UMI Selection", typeof(RectTransform));
+                _selectionLayer = (RectTransform)layer.transform;
+                _selectionLayer.SetParent(_inputObjectText.rectTransform.parent, false);
+                _caret = CreateSelectionRect(_config.CaretColor);
+            }
+            var text = _inputObjectText.rectTransform;
+            _selectionLayer.SetSiblingIndex(text.GetSiblingIndex());
+            _selectionLayer.localPosition = text.localPosition;
+            _selectionLayer.localRotation = text.localRotation;
+            _selectionLayer.localScale = text.localScale;
+            _selectionLayer.anchorMin = text.anchorMin;
+            _selectionLayer.anchorMax = text.anchorMax;
+            _selectionLayer.anchoredPosition = text.anchoredPosition;
+            _selectionLayer.sizeDelta = text.sizeDelta;
+            _selectionLayer.pivot = text.pivot;
+            _selectionLayer.gameObject.SetActive(true);
+            _inputObjectText.ForceMeshUpdate();
+            var info = _inputObjectText.textInfo;
+            var start = Mathf.Min(_selectionStart, _selectionEnd);
+            var end = Mathf.Max(_selectionStart, _selectionEnd);
+            var used = 0;
+            GetCaretPosition(info, start, out var startX, out var startLine);
+            if (start == end) {
+                GetLineBounds(info, startLine, out var top, out var bottom);
+                var width = Mathf.Max(1, _inputObject.caretWidth);
+                PlaceSelectionRect(_caret, startX - width * 0.5f, bottom, width, top - bottom);
+            } else {
+                _caret.enabled = false;
+                GetCaretPosition(info, end, out var endX, out var endLine);
+                for (var line = startLine; line <= endLine; line++) {
+                    var left = (line == startLine) ? startX : GetLineEdge(info, line, true);
+                    var right = (line == endLine) ? endX : GetLineEdge(info, line, false);
+                    GetLineBounds(info, line, out var top, out var bottom);
+                    if (used == _selectionRects.Count) {
+                        _selectionRects.Add(CreateSelectionRect(_config.HighlightColor));
+                    }
+                    PlaceSelectionRect(_selectionRects[used], left, bottom, right - left, top - bottom);
+                    _selectionRects[used].enabled = true;
+                    used++;
+                }
+            }
+            for (var i = used; i < _selectionRects.Count; i++) {
+                _selectionRects[i].enabled = false;
+            }
+        }
+
+        /// <summary>
+        /// Create rect for caret or selection in selection layer
+        /// </summary>
+        /// <param name="color">Rect color</param>
+        /// <returns>Image</returns>
+        Image CreateSelectionRect(Color color) {
+            var item = new GameObject("UMI Rect", typeof(RectTransform), typeof(Image));
+            var rect = (RectTransform)item.transform;
+            rect.SetParent(_selectionLayer, false);
+            rect.pivot = Vector2.zero;
+            var image = item.GetComponent<Image>();
+            image.color = color;
+            image.raycastTarget = false;
+            return image;
+        }
+
+        /// <summary>
+        /// Move rect to position in text local space
+        /// </summary>
+        /// <param name="image">Rect to move</param>
+        /// <param name="x">Left</param>
+        /// <param name="y">Bottom</param>
+        /// <param name="width">Width</param>
+        /// <param name="height">Height</param>
+        void PlaceSelectionRect(Image image, float x, float y, float width, float height) {
+            var rect = image.rectTransform;
+            var anchor = _selectionLayer.pivot;
+            rect.anchorMin = anchor;
+            rect.anchorMax = anchor;
+            rect.anchoredPosition = new Vector2(x, y);
+            rect.sizeDelta = new Vector2(width, height);
+        }
+
+        /// <summary>
+        /// Get caret x and line for position in string
+        /// </summary>
+        /// <param name="info">TMP text info</param>
+        /// <param name="position">Position in string</param>
+        /// <param name="x">Caret x in text local space</param>
+        /// <param name="line">Line number</param>
+        void GetCaretPosition(TMP_TextInfo info, int position, out float x, out int line) {
+            var count = info.characterCount;
+            if (count == 0) {
+                var rect = _inputObjectText.rectTransform.rect;
+                var horizontal = (int)_inputObjectText.alignment & HORIZONTAL_MASK;
+                x = (horizontal == ALIGN_CENTER) ? rect.center.x : (horizontal == ALIGN_RIGHT) ? rect.xMax : rect.xMin;
+                line = 0;
+                return;
+            }
+            for (var i = 0; i < count; i++) {
+                var character = info.characterInfo[i];
+                if (character.index >= position) {
+                    x = character.origin;
+                    line = character.lineNumber;
+                    return;
+                }
+            }
+            var last = info.characterInfo[count - 1];
+            x = last.xAdvance;
+            line = last.lineNumber;
+        }
+
+        /// <summary>
+        /// Get left or right edge of line
+        /// </summary>
+        /// <param name="info">TMP text info</param>
+        /// <param name="line">Line number</param>
+        /// <param name="isLeft">Left edge flag</param>
+        /// <returns>Edge x in text local space</returns>
+        float GetLineEdge(TMP_TextInfo info, int line, bool isLeft) {
+            var lineInfo = info.lineInfo[line];
+            return isLeft ? info.characterInfo[lineInfo.firstCharacterIndex].origin : info.characterInfo[lineInfo.lastCharacterIndex].xAdvance;
+        }
+
+        /// <summary>
+        /// Get top and bottom of line, empty text uses font size in rect center
+        /// </summary>
+        /// <param name="info">TMP text info</param>
+        /// <param name="line">Line number</param>
+        /// <param name="top">Line top in text local space</param>
+        /// <param name="bottom">Line bottom in text local space</param>
+        void GetLineBounds(TMP_TextInfo info, int line, out float top, out float bottom) {
+            if (line < info.lineCount && info.characterCount > 0) {
+                top = info.lineInfo[line].ascender;
+                bottom = info.lineInfo[line].descender;
+                return;
+            }
+            var center = _inputObjectText.rectTransform.rect.center.y;
+            top = center + _inputObjectText.fontSize * 0.5f;
+            bottom = center - _inputObjectText.fontSize * 0.5f;
+        }
+#endif
+
         /// <summary>
         /// Check position on each frame
         /// If changed - send to plugin
@@ -413,10 +749,26 @@ namespace UMI {
         void Update() {
 #if UNITY_ANDROID && !UNITY_EDITOR
             UpdateForceKeyeventForAndroid();
+            if (IsHeadless && _isMobileInputCreated) {
+                UpdateSelection();
+            }
 #endif
             if (_inputObject != null && _isMobileInputCreated) {
 #if !UNITY_EDITOR
                 var touchCount = Input.touchCount;
+#if UNITY_ANDROID
+                if ((IsSharedEditor || IsHeadless) && !_isNativeFocused && touchCount > 0 && Visible) {
+                    var canvas = _inputObjectText.canvas;
+                    var camera = (canvas == null || canvas.renderMode == RenderMode.ScreenSpaceOverlay) ? null : canvas.worldCamera;
+                    for (var i = 0; i < touchCount; i++) {
+                        var touch = Input.GetTouch(i);
+                        if (touch.phase == TouchPhase.Began && RectTransformUtility.RectangleContainsScreenPoint(_inputObjectText.rectTransform, touch.position, camera)) {
+                            SetFocus(true);
+                            return;
+                        }
+                    }
+                }
+#endif
                 if (touchCount > 0) {
                     var inputRect = this._inputObjectText.rectTransform.rect;
                     for (var i = 0; i < touchCount; i++) {
@@ -459,6 +811,23 @@ namespace UMI {
             _config.InputType = _inputObject.inputType.ToString();
         }
 
+        /// <summary>
+        /// Get bounds for native field, relative to group if it set
+        /// </summary>
+        /// <param name="rect">RectTranform object</param>
+        /// <returns>Rect</returns>
+        Rect GetNativeRect(RectTransform rect) {
+            var result = GetScreenRectFromRectTransform(rect);
+#if UNITY_ANDROID && !UNITY_EDITOR
+            if (Group != null) {
+                var offset = Group.GetOffset();
+                result.x -= offset.x;
+                result.y -= offset.y;
+            }
+#endif
+            return result;
+        }
+
         /// <summary>
         /// Get bounds and calc for current screen size
         /// </summary>
@@ -471,12 +840,14 @@ namespace UMI {
             var xMax = float.NegativeInfinity;
             var yMin = float.PositiveInfinity;
             var yMax = float.NegativeInfinity;
+            var canvas = rect.GetComponentInParent<Canvas>();
+            var isOverlay = canvas.renderMode == RenderMode.ScreenSpaceOverlay;
             for (var i = 0; i < 4; i++) {
                 Vector3 coords;
-                if (rect.GetComponentInParent<Canvas>().renderMode == RenderMode.ScreenSpaceOverlay) {
+                if (isOverlay) {
                     coords = corners[i];
                 } else {
-                    coords = RectTransformUtility.WorldToScreenPoint(Camera.main, corners[i]);
+                    coords = RectTransformUtility.WorldToScreenPoint(canvas.worldCamera, corners[i]);
                 }
                 if (coords.x < xMin) {
                     xMin = coords.x;
@@ -505,6 +876,60 @@ namespace UMI {
             }
             _inputObject.text = text;
             _inputObject.onValueChanged?.Invoke(text);
+            _isSelectionDirty = true;
+        }
+
+        /// <summary>
+        /// Apply text delta to current text
+        /// Skip delta made before own text change or while full text is requested, request full text on version mismatch
+        /// </summary>
+        /// <param name="start">Change start</param>
+        /// <param name="before">Replaced chars count</param>
+        /// <param name="inserted">Inserted text</param>
+        /// <param name="version">Native text version</param>
+        void OnTextDelta(int start, int before, string inserted, int version) {
+            if (version <= _textVersion || _isSyncRequested) {
+                return;
+            }
+            var text = _inputObject.text;
+            if (version != _textVersion + 1 || start < 0 || start + before > text.Length) {
+                RequestTextSync();
+                return;
+            }
+            _textVersion = version;
+            OnTextChange(text.Substring(0, start) + inserted + text.Substring(start + before));
+        }
+
+        /// <summary>
+        /// Check full text event version and save it
+        /// Text older than last own change is stale, same version is accepted only as answer to sync request
+        /// </summary>
+        /// <param name="data">Event data</param>
+        /// <returns>True if text is actual</returns>
+        bool IsTextActual(JsonObject data) {
+            if (!data.ContainsKey("version")) {
+                return true;
+            }
+            int version = data["version"];
+            if (version < _textVersion || (version == _textVersion && !_isSyncRequested)) {
+                return false;
+            }
+            _textVersion = version;
+            _isSyncRequested = false;
+            return true;
+        }
+
+        /// <summary>
+        /// Ask native for full text once until it comes
+        /// </summary>
+        void RequestTextSync() {
+            if (_isSyncRequested) {
+                return;
+            }
+            _isSyncRequested = true;
+            var data = new JsonObject();
+            data["msg"] = SYNC_TEXT;
+            Execute(data);
         }
 
         /// <summary>
@@ -542,20 +967,40 @@ namespace UMI {
             yield return WaitForEndOfFrame;
             string msg = data["msg"];
             if (msg.Equals(TEXT_CHANGE)) {
-                string text = data["text"];
-                OnTextChange(text);
+                if (IsTextActual(data)) {
+                    OnTextChange(data["text"]);
+                }
+            } else if (msg.Equals(TEXT_DELTA)) {
+                OnTextDelta(data["start"], data["before"], data["text"], data["version"]);
             } else if (msg.Equals(READY)) {
                 Ready();
             } else if (msg.Equals(ON_FOCUS)) {
+                if (data.ContainsKey("keyboard") && data["keyboard"] > 0) {
+                    OnKeyboardPredicted(data["keyboard"]);
+                }
+                _isNativeFocused = true;
+                _isSelectionDirty = true;
+                if (IsSharedEditor && !IsHeadless) {
+                    SetTextComponentVisible(false);
+                }
                 OnFocusChanged(true);
             } else if (msg.Equals(ON_UNFOCUS)) {
+                _isNativeFocused = false;
+                if (IsSharedEditor && !IsHeadless) {
+                    SetTextComponentVisible(true);
+                }
                 OnFocusChanged(false);
             } else if (msg.Equals(TEXT_END_EDIT)) {
                 string text = data["text"];
-                OnTextEditEnd(text);
+                OnTextEditEnd(IsTextActual(data) ? text : _inputObject.text);
             } else if (msg.Equals(RETURN_PRESSED)) {
                 OnReturnPressed();
                 OnReturnPressedEvent?.Invoke();
+            } else if (msg.Equals(SELECTION)) {
+                _selectionStart = data["start"];
+                _selectionEnd = data["end"];
+                _isSelectionDirty = true;
+                OnSelectionChanged(_selectionStart, _selectionEnd);
             }
         }
 
@@ -572,7 +1017,9 @@ namespace UMI {
         /// Create native input field
         /// </summary>
         void CreateNativeEdit() {
-            var rect = GetScreenRectFromRectTransform(_inputObjectText.rectTransform);
+            var rect = GetNativeRect(_inputObjectText.rectTransform);
+            _textVersion = 0;
+            _isSyncRequested = false;
             var data = new JsonObject();
             data["msg"] = CREATE;
             data["x"] = InvariantCultureString(rect.x / Screen.width);
@@ -580,6 +1027,46 @@ namespace UMI {
             data["width"] = InvariantCultureString(rect.width / Screen.width);
             data["height"] = InvariantCultureString(rect.height / Screen.height);
             data["character_limit"] = _config.CharacterLimit;
+            data["font_size"] = InvariantCultureString(_config.FontSize);
+            data["with_done_button"] = IsWithDoneButton;
+            data["with_clear_button"] = IsWithClearButton;
+            data["placeholder"] = _config.Placeholder;
+            data["keyboard_language"] = KeyboardLanguage;
+            data["filters"] = GetFiltersConfig();
+            data["text_delta"] = IsTextDelta;
+            data["text_change_mode"] = TextChange.ToString();
+            data["text_change_interval"] = TextChangeInterval;
+            data["group"] = (Group != null) ? Group.GroupName : "";
+            data["shared"] = IsSharedEditor;
+            data["headless"] = IsHeadless;
+            PutStyleData(data);
+            Execute(data);
+        }
+
+        /// <summary>
+        /// Put style to data: id of registered style on Android, or style values if it is not registered
+        /// </summary>
+        /// <param name="data">Command data</param>
+        void PutStyleData(JsonObject data) {
+            var style = GetStyleData();
+#if UNITY_ANDROID
+            var styleId = MobileInput.RegisterStyle(style);
+            if (styleId != null) {
+                data["style"] = styleId;
+                return;
+            }
+#endif
+            foreach (var key in style.Keys) {
+                data[key] = style[key];
+            }
+        }
+
+        /// <summary>
+        /// Get style part of config, it is shared by fields with same look
+        /// </summary>
+        /// <returns>Style data</returns>
+        JsonObject GetStyleData() {
+            var data = new JsonObject();
             data["text_color_r"] = InvariantCultureString(_config.TextColor.r);
             data["text_color_g"] = InvariantCultureString(_config.TextColor.g);
             data["text_color_b"] = InvariantCultureString(_config.TextColor.b);
@@ -588,13 +1075,9 @@ namespace UMI {
             data["back_color_g"] = InvariantCultureString(_config.BackgroundColor.g);
             data["back_color_b"] = InvariantCultureString(_config.BackgroundColor.b);
             data["back_color_a"] = InvariantCultureString(_config.BackgroundColor.a);
-            data["font_size"] = InvariantCultureString(_config.FontSize);
             data["content_type"] = _config.ContentType;
             data["align"] = _config.Align;
-            data["with_done_button"] = IsWithDoneButton;
-            data["with_clear_button"] = IsWithClearButton;
             data["font"] = CustomFont;
-            data["placeholder"] = _config.Placeholder;
             data["placeholder_color_r"] = InvariantCultureString(_config.PlaceholderColor.r);
             data["placeholder_color_g"] = InvariantCultureString(_config.PlaceholderColor.g);
             data["placeholder_color_b"] = InvariantCultureString(_config.PlaceholderColor.b);
@@ -602,24 +1085,23 @@ namespace UMI {
             data["caret_color_r"] = InvariantCultureString(_config.CaretColor.r);
             data["caret_color_g"] = InvariantCultureString(_config.CaretColor.g);
             data["caret_color_b"] = InvariantCultureString(_config.CaretColor.b);
-            data["caret_color_a"] = InvariantCultureString(_config.CaretColor.a);              
+            data["caret_color_a"] = InvariantCultureString(_config.CaretColor.a);
             data["highlight_color_r"] = InvariantCultureString(_config.HighlightColor.r);
             data["highlight_color_g"] = InvariantCultureString(_config.HighlightColor.g);
             data["highlight_color_b"] = InvariantCultureString(_config.HighlightColor.b);
-            data["highlight_color_a"] = InvariantCultureString(_config.HighlightColor.a);  
+            data["highlight_color_a"] = InvariantCultureString(_config.HighlightColor.a);
             data["caret_color"] = _config.ChangeCaret;
             data["multiline"] = _config.Multiline;
             data["input_type"] = _config.InputType;
             data["keyboard_type"] = _config.KeyboardType;
-            data["keyboard_language"] = KeyboardLanguage;
             data["return_key_type"] = ReturnKey switch {
                 ReturnKeyType.Next => (JsonNode)"Next",
                 ReturnKeyType.Done => (JsonNode)"Done",
                 ReturnKeyType.Search => (JsonNode)"Search",
                 ReturnKeyType.Send => (JsonNode)"Send",
                 _ => (JsonNode)"Default",
-            };           
-            Execute(data);
+            };
+            return data;
         }
 #endif
 
@@ -689,6 +1171,20 @@ namespace UMI {
             Execute(data);
         }
 
+        /// <summary>
+        /// Re-read colors, align, content type and font from TMP field and apply them to native input
+        /// Style is registered once, fields with same look share it, works on Android only
+        /// </summary>
+        public void UpdateStyle() {
+#if UNITY_ANDROID && !UNITY_EDITOR
+            PrepareNativeEdit();
+            var data = new JsonObject();
+            data["msg"] = APPLY_STYLE;
+            PutStyleData(data);
+            Execute(data);
+#endif
+        }
+
         /// <summary>
         /// Switch readonly mode
         /// </summary>
@@ -723,13 +1219,141 @@ namespace UMI {
         }
 
         /// <summary>
-        /// Set text to field
+        /// Append text to the end of field
+        /// </summary>
+        /// <param name="text">Text to append</param>
+        public void AppendText(string text) {
+            var length = Text.Length;
+            EditRange(APPEND_TEXT, length, length, text);
+        }
+
+        /// <summary>
+        /// Insert text at position
+        /// </summary>
+        /// <param name="index">Position in string</param>
+        /// <param name="text">Text to insert</param>
+        public void InsertText(int index, string text) {
+            EditRange(INSERT_TEXT, index, index, text);
+        }
+
+        /// <summary>
+        /// Replace part of text
+        /// </summary>
+        /// <param name="start">Range start</param>
+        /// <param name="end">Range end</param>
+        /// <param name="text">New text for range</param>
+        public void ReplaceRange(int start, int end, string text) {
+            EditRange(REPLACE_RANGE, start, end, text);
+        }
+
+        /// <summary>
+        /// Delete part of text
+        /// </summary>
+        /// <param name="start">Range start</param>
+        /// <param name="end">Range end</param>
+        public void DeleteRange(int start, int end) {
+            EditRange(DELETE_RANGE, start, end, string.Empty);
+        }
+
+        /// <summary>
+        /// Apply range edit to current text and send only changed part to native
+        /// </summary>
+        /// <param name="msg">Command name</param>
+        /// <param name="start">Range start</param>
+        /// <param name="end">Range end</param>
+        /// <param name="text">New text for range</param>
+        void EditRange(string msg, int start, int end, string text) {
+            var current = Text;
+            start = Mathf.Clamp(start, 0, current.Length);
+            end = Mathf.Clamp(end, start, current.Length);
+            var result = current.Substring(0, start) + text + current.Substring(end);
+            if (!_isMobileInputCreated) {
+                Text = result;
+                return;
+            }
+            _inputObject.text = result;
+#if UNITY_ANDROID
+            _textVersion++;
+            var data = new JsonObject();
+            data["msg"] = msg;
+            data["version"] = _textVersion;
+            switch (msg) {
+                case APPEND_TEXT:
+                    data["text"] = text;
+                    break;
+                case INSERT_TEXT:
+                    data["at"] = start;
+                    data["text"] = text;
+                    break;
+                case REPLACE_RANGE:
+                    data["start"] = start;
+                    data["end"] = end;
+                    data["text"] = text;
+                    break;
+                case DELETE_RANGE:
+                    data["start"] = start;
+                    data["end"] = end;
+                    break;
+            }
+            Execute(data);
+#else
+            SetTextNative(result);
+#endif
+        }
+
+        /// <summary>
+        /// Apply current character limit and validation from InputField to native filters
+        /// </summary>
+        public void UpdateFilters() {
+            var data = new JsonObject();
+            data["msg"] = SET_FILTERS;
+            data["filters"] = GetFiltersConfig();
+            Execute(data);
+        }
+
+        /// <summary>
+        /// Prepare native filters config from InputField
+        /// </summary>
+        /// <returns>Filters config</returns>
+        JsonObject GetFiltersConfig() {
+            var filters = new JsonObject();
+            filters["max_length"] = _inputObject.characterLimit;
+            switch (_inputObject.characterValidation) {
+                case TMP_InputField.CharacterValidation.Digit:
+                    filters["chars"] = "Digits";
+                    break;
+                case TMP_InputField.CharacterValidation.Integer:
+                    filters["shape"] = "Integer";
+                    break;
+                case TMP_InputField.CharacterValidation.Decimal:
+                    filters["shape"] = "Decimal";
+                    break;
+                case TMP_InputField.CharacterValidation.Alphanumeric:
+                    filters["chars"] = "Alphanumeric";
+                    break;
+                case TMP_InputField.CharacterValidation.Name:
+                    filters["chars"] = "Name";
+                    break;
+                case TMP_InputField.CharacterValidation.EmailAddress:
+                    filters["chars"] = "Email";
+                    break;
+                case TMP_InputField.CharacterValidation.Regex:
+                    filters["regex"] = _inputObject.regexValue;
+                    break;
+            }
+            return filters;
+        }
+
+        /// <summary>
+        /// Set text to field, text version goes forward on both sides
         /// </summary>
         /// <param name="text">New text</param>
         void SetTextNative(string text) {
+            _textVersion++;
             var data = new JsonObject();
             data["msg"] = SET_TEXT;
             data["text"] = text;
+            data["version"] = _textVersion;
             Execute(data);
         }
 
@@ -748,11 +1372,22 @@ namespace UMI {
         /// </summary>
         /// <param name="inputRect">RectTransform</param>
         public void SetRectNative(RectTransform inputRect) {
-            var rect = GetScreenRectFromRectTransform(inputRect);
+            var rect = GetNativeRect(inputRect);
             if (_inputObject == null || !_isMobileInputCreated || _lastRect == rect) {
                 return;
             }
             _lastRect = rect;
+#if UNITY_ANDROID && !UNITY_EDITOR
+            if (IsHeadless) {
+                return;
+            }
+            var normal = new Rect(rect.x / Screen.width, rect.y / Screen.height, rect.width / Screen.width, rect.height / Screen.height);
+            if (_lastNormalRect == normal) {
+                return;
+            }
+            _lastNormalRect = normal;
+            ExecuteRect(normal.x, normal.y, normal.width, normal.height);
+#else
             var data = new JsonObject();
             data["msg"] = SET_RECT;
             data["x"] = InvariantCultureString(rect.x / Screen.width);
@@ -760,6 +1395,7 @@ namespace UMI {
             data["width"] = InvariantCultureString(rect.width / Screen.width);
             data["height"] = InvariantCultureString(rect.height / Screen.height);
             Execute(data);
+#endif
         }
 
         /// <summary>
@@ -772,10 +1408,14 @@ namespace UMI {
                 _isFocusOnCreate = isFocus;
                 return;
             }
+#if UNITY_ANDROID
+            ExecuteFocus(isFocus);
+#else
             var data = new JsonObject();
             data["msg"] = SET_FOCUS;
             data["is_focus"] = isFocus;
             Execute(data);
+#endif
 #else
             if (gameObject.activeInHierarchy) {
                 if (isFocus) {
@@ -799,12 +1439,17 @@ namespace UMI {
                 _isVisibleOnCreate = isVisible;
                 return;
             }
+#if UNITY_ANDROID && !UNITY_EDITOR
+            ExecuteVisible(isVisible);
+#else
             var data = new JsonObject();
             data["msg"] = SET_VISIBLE;
             data["is_visible"] = isVisible;
             Execute(data);
+#endif
             Visible = isVisible;
             _lastRect = new Rect();
+            _lastNormalRect = new Rect();
         }
 
 #if UNITY_ANDROID && !UNITY_EDITOR
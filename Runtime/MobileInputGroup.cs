@@ -0,0 +1,114 @@
+using UnityEngine;
+
+namespace UMI {
+
+    /// <summary>
+    /// Group of native fields which move together, e.g. content of ScrollRect
+    /// Native fields of group are moved by one offset instead of rect for each field (Android)
+    /// </summary>
+    [RequireComponent(typeof(RectTransform))]
+    public class MobileInputGroup : MonoBehaviour {
+
+        /// <summary>
+        /// Group name, must be unique, generated if empty
+        /// </summary>
+        public string GroupName = "";
+
+        /// <summary>
+        /// Cached transform
+        /// </summary>
+        RectTransform _rect = null;
+
+        /// <summary>
+        /// Cached canvas
+        /// </summary>
+        Canvas _canvas = null;
+
+        /// <summary>
+        /// Reusable corners array
+        /// </summary>
+        readonly Vector3[] _corners = new Vector3[4];
+
+        /// <summary>
+        /// Group position when first measured
+        /// </summary>
+        Vector2 _origin = Vector2.zero;
+
+        /// <summary>
+        /// Flag that origin is measured
+        /// </summary>
+        bool _isOriginSet = false;
+
+        /// <summary>
+        /// Offset for current frame in pixels
+        /// </summary>
+        Vector2 _offset = Vector2.zero;
+
+        /// <summary>
+        /// Frame of cached offset
+        /// </summary>
+        int _offsetFrame = -1;
+
+        /// <summary>
+        /// Last offset sent to plugin, normalized
+        /// </summary>
+        Vector2 _lastOffset = Vector2.zero;
+
+        /// <summary>
+        /// Init name and cache components
+        /// </summary>
+        void Awake() {
+            _rect = GetComponent<RectTransform>();
+            _canvas = GetComponentInParent<Canvas>();
+            if (string.IsNullOrEmpty(GroupName)) {
+                GroupName = $"{name}_{GetInstanceID()}";
+            }
+        }
+
+        /// <summary>
+        /// Get group offset from origin in screen pixels, y from top
+        /// </summary>
+        /// <returns>Offset for current frame</returns>
+        public Vector2 GetOffset() {
+            if (_offsetFrame == Time.frameCount) {
+                return _offset;
+            }
+            _offsetFrame = Time.frameCount;
+            var position = GetScreenPosition();
+            if (!_isOriginSet) {
+                _origin = position;
+                _isOriginSet = true;
+            }
+            _offset = position - _origin;
+            return _offset;
+        }
+
+        /// <summary>
+        /// Get top left corner in screen pixels, y from top
+        /// </summary>
+        /// <returns>Position</returns>
+        Vector2 GetScreenPosition() {
+            _rect.GetWorldCorners(_corners);
+            Vector2 corner = _corners[1];
+            if (_canvas != null && _canvas.renderMode != RenderMode.ScreenSpaceOverlay) {
+                corner = RectTransformUtility.WorldToScreenPoint(_canvas.worldCamera, _corners[1]);
+            }
+            return new Vector2(corner.x, Screen.height - corner.y);
+        }
+
+        /// <summary>
+        /// Send offset to plugin if changed
+        /// </summary>
+        void LateUpdate() {
+#if UNITY_ANDROID && !UNITY_EDITOR
+            var offset = GetOffset();
+            var normal = new Vector2(offset.x / Screen.width, offset.y / Screen.height);
+            if (normal == _lastOffset) {
+                return;
+            }
+            _lastOffset = normal;
+            MobileInput.ExecuteGroupOffset(GroupName, normal.x, normal.y);
+#endif
+        }
+    }
+}
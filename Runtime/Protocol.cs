@@ -0,0 +1,209 @@
+using System;
+using NiceJson;
+
+namespace UMI {
+
+    /// <summary>
+    /// Decoder for compact events from native plugin
+    /// Frame format: #version;opcode;id;count;{type}{length}:{payload}...
+    /// </summary>
+    static class Protocol {
+
+        /// <summary>
+        /// JSON mode, used as fallback
+        /// </summary>
+        public const int JSON = 0;
+
+        /// <summary>
+        /// Max supported compact version
+        /// </summary>
+        public const int VERSION = 1;
+
+        /// <summary>
+        /// Id for events and commands without input, same as in Protocol.java
+        /// </summary>
+        public const int GLOBAL = -1;
+
+        /// <summary>
+        /// First char of compact frame
+        /// </summary>
+        const char FRAME = '#';
+
+        /// <summary>
+        /// Separator for frame header values
+        /// </summary>
+        const char SEPARATOR = ';';
+
+        /// <summary>
+        /// Separator between field length and payload
+        /// </summary>
+        const char LENGTH = ':';
+
+        /// <summary>
+        /// Field type markers
+        /// </summary>
+        const char FIELD_STRING = 's';
+        const char FIELD_INT = 'i';
+        const char FIELD_BOOL = 'b';
+
+        /// <summary>
+        /// Error opcode
+        /// </summary>
+        const int ERROR = 0;
+
+        /// <summary>
+        /// Event names by opcode, order must be the same as in Protocol.java
+        /// </summary>
+        static readonly string[] Names = {
+            "ERROR",
+            "READY",
+            "ON_FOCUS",
+            "ON_UNFOCUS",
+            "TEXT_CHANGE",
+            "TEXT_END_EDIT",
+            "RETURN_PRESSED",
+            "KEYBOARD",
+            "ORIENTATION",
+            "TEXT_DELTA",
+            "KEYBOARD_START",
+            "KEYBOARD_PROGRESS",
+            "METRICS",
+            "SELECTION"
+        };
+
+        /// <summary>
+        /// Field keys by opcode
+        /// </summary>
+        static readonly string[][] Keys = {
+            new[] { "code", "message" },
+            new string[0],
+            new[] { "keyboard" },
+            new string[0],
+            new[] { "text", "version" },
+            new[] { "text", "version" },
+            new string[0],
+            new[] { "show", "height" },
+            new[] { "orientation" },
+            new[] { "start", "before", "text", "version" },
+            new[] { "start", "target", "duration" },
+            new[] { "height", "target" },
+            new[] { "nav_height", "nav_type", "safe_left", "safe_top", "safe_right", "safe_bottom", "dpi", "width", "height" },
+            new[] { "start", "end" }
+        };
+
+        /// <summary>
+        /// Global actions, not linked to input
+        /// </summary>
+        static readonly bool[] Actions = {
+            false,
+            false,
+            false,
+            false,
+            false,
+            false,
+            false,
+            true,
+            true,
+            false,
+            true,
+            true,
+            true,
+            false
+        };
+
+        /// <summary>
+        /// Check if data is compact frame
+        /// </summary>
+        /// <param name="data">Raw data</param>
+        public static bool IsCompact(string data) {
+            return !string.IsNullOrEmpty(data) && data[0] == FRAME;
+        }
+
+        /// <summary>
+        /// Decode one frame to same object as JSON mode gives
+        /// </summary>
+        /// <param name="data">Raw data</param>
+        /// <param name="index">Frame start, moved to next frame</param>
+        /// <param name="isError">Is error frame</param>
+        /// <returns>Decoded event</returns>
+        public static JsonObject Decode(string data, ref int index, out bool isError) {
+            if (data[index] != FRAME) {
+                throw new FormatException($"frame expected at {index}");
+            }
+            index++;
+            var version = ReadInt(data, ref index, SEPARATOR);
+            if (version < 1 || version > VERSION) {
+                throw new FormatException($"unsupported version {version}");
+            }
+            var opcode = ReadInt(data, ref index, SEPARATOR);
+            var id = ReadInt(data, ref index, SEPARATOR);
+            var count = ReadInt(data, ref index, SEPARATOR);
+            if (opcode < 0 || opcode >= Names.Length) {
+                throw new FormatException($"unknown opcode {opcode}");
+            }
+            var keys = Keys[opcode];
+            var fields = new JsonObject();
+            for (var i = 0; i < count; i++) {
+                var type = data[index++];
+                var length = ReadInt(data, ref index, LENGTH);
+                if (i < keys.Length) {
+                    switch (type) {
+                        case FIELD_STRING:
+                            fields[keys[i]] = data.Substring(index, length);
+                            break;
+                        case FIELD_INT:
+                            var position = index;
+                            fields[keys[i]] = ReadInt(data, ref position, LENGTH, index + length);
+                            break;
+                        case FIELD_BOOL:
+                            fields[keys[i]] = data[index] == '1';
+                            break;
+                    }
+                }
+                index += length;
+            }
+            isError = opcode == ERROR;
+            if (isError) {
+                var error = new JsonObject();
+                error["error"] = fields;
+                return error;
+            }
+            if (Actions[opcode]) {
+                fields["action"] = Names[opcode];
+            } else {
+                fields["msg"] = Names[opcode];
+                fields["id"] = id;
+            }
+            return fields;
+        }
+
+        /// <summary>
+        /// Read int and skip separator
+        /// </summary>
+        /// <param name="data">Raw data</param>
+        /// <param name="index">Start position, moved after separator</param>
+        /// <param name="separator">Char after value</param>
+        /// <param name="end">Max position for value without separator</param>
+        /// <returns>Value</returns>
+        static int ReadInt(string data, ref int index, char separator, int end = -1) {
+            var sign = 1;
+            if (data[index] == '-') {
+                sign = -1;
+                index++;
+            }
+            var value = 0;
+            while (index != end && data[index] != separator) {
+                var digit = data[index] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new FormatException($"digit expected at {index}");
+                }
+                value = value * 10 + digit;
+                index++;
+            }
+            if (index != end) {
+                index++;
+            }
+            return sign * value;
+        }
+    }
+}